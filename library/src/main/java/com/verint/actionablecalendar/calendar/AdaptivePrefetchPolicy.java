@@ -0,0 +1,77 @@
+package com.verint.actionablecalendar.calendar;
+
+/**
+ * Default {@link PrefetchPolicy} which measures scroll velocity and latency of loads (both as
+ * exponential moving averages) and sizes trigger distance and amount of months to load, so loaded
+ * data is ready before viewport reaches the edge of list: fast fling prefetches earlier and more
+ * months, slow browsing loads single month close to the edge.
+ */
+public class AdaptivePrefetchPolicy implements PrefetchPolicy {
+
+    // Average amount of items of single month: 5-6 rows of days and header
+    private static final int ITEMS_PER_MONTH = 40;
+
+    private static final int MIN_MONTHS_TO_LOAD = 1;
+    private static final int MAX_MONTHS_TO_LOAD = 12;
+    private static final int MIN_TRIGGER_DISTANCE = ITEMS_PER_MONTH;
+    private static final int MAX_TRIGGER_DISTANCE = MAX_MONTHS_TO_LOAD * ITEMS_PER_MONTH;
+
+    // Scroll time which should be covered by single load
+    private static final long LOAD_AHEAD_MILLIS = 1000;
+    // Extra time to publish results and lay out new items
+    private static final long PUBLISH_SLACK_MILLIS = 50;
+    private static final float SAFETY_FACTOR = 1.5f;
+    private static final float SMOOTHING = 0.3f;
+    // Gap between scroll events which means that scroll was started again
+    private static final long SCROLL_RESTART_MILLIS = 300;
+
+    private static final float INITIAL_LATENCY_PER_MONTH_MILLIS = 10f;
+
+    // Items per millisecond
+    private float mVelocity;
+    private float mLatencyPerMonthMillis = INITIAL_LATENCY_PER_MONTH_MILLIS;
+    private long mLastScrollUptimeMillis = -1;
+
+    @Override
+    public void onScrolled(final int itemDelta, final long uptimeMillis) {
+
+        final long elapsed = uptimeMillis - mLastScrollUptimeMillis;
+        if (mLastScrollUptimeMillis < 0 || elapsed > SCROLL_RESTART_MILLIS) {
+            // Scroll was (re)started, no reliable velocity yet
+            mVelocity = 0;
+        } else if (elapsed > 0) {
+            final float velocity = Math.abs(itemDelta) / (float) elapsed;
+            mVelocity += SMOOTHING * (velocity - mVelocity);
+        }
+        mLastScrollUptimeMillis = uptimeMillis;
+    }
+
+    @Override
+    public void onMonthsLoaded(final int monthCount, final long latencyMillis) {
+        if (monthCount > 0) {
+            final float latencyPerMonth = latencyMillis / (float) monthCount;
+            mLatencyPerMonthMillis += SMOOTHING * (latencyPerMonth - mLatencyPerMonthMillis);
+        }
+    }
+
+    @Override
+    public int getLoadTriggerDistance() {
+
+        // Items which will be scrolled while next load is in progress
+        final float expectedLatency = getMonthsToLoad() * mLatencyPerMonthMillis + PUBLISH_SLACK_MILLIS;
+        final int distance = (int) Math.ceil(mVelocity * expectedLatency * SAFETY_FACTOR);
+        return clamp(distance, MIN_TRIGGER_DISTANCE, MAX_TRIGGER_DISTANCE);
+    }
+
+    @Override
+    public int getMonthsToLoad() {
+
+        // Months which will be scrolled during look-ahead period
+        final int months = (int) Math.ceil(mVelocity * LOAD_AHEAD_MILLIS / ITEMS_PER_MONTH);
+        return clamp(months, MIN_MONTHS_TO_LOAD, MAX_MONTHS_TO_LOAD);
+    }
+
+    private static int clamp(final int value, final int min, final int max) {
+        return value < min ? min : (value > max ? max : value);
+    }
+}
@@ -2,6 +2,8 @@ package com.verint.actionablecalendar.calendar;
 
 import android.content.Context;
 import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v7.widget.GridLayoutManager;
@@ -26,27 +28,34 @@ import static com.verint.actionablecalendar.calendar.models.Direction.UP;
  * <p>
  */
 
-public class CalendarRecyclerView extends RecyclerView implements OnLoadMoreListener {
+public class CalendarRecyclerView extends RecyclerView implements OnLoadMoreListener,
+        TodayClock.OnDayChangedListener, MonthLoader.Callback {
 
     private static final int NUMBER_DAYS_IN_A_WEEK = 7;
+    // Cells of month grid, default pool keeps only 5 views per type which causes inflation on scroll
+    private static final int MAX_RECYCLED_MONTH_DAYS = NUMBER_DAYS_IN_A_WEEK * 6;
+    private static final int MAX_RECYCLED_MONTH_HEADERS = 2;
 
     public static final int NUMBER_OF_MONTHS_TO_LOAD = 2;
-    /**when user scrolls to start or end of calendar We'll call notify adapter only if visible days in intervals:<br>
-    at top - [0, NUMBER_DAYS_LIMIT_TO_START_VIEWS_UPDATE];
-    at bottom - [daysCount - NUMBER_DAYS_LIMIT_TO_START_VIEWS_UPDATE, daysCount]*/
-    private static final int NUMBER_DAYS_LIMIT_TO_START_VIEWS_UPDATE =
-            NUMBER_OF_MONTHS_TO_LOAD * 31/*max number of days in month*/ * 2/*multi coefficient*/ +
-                    NUMBER_OF_MONTHS_TO_LOAD * 10/*additional days*/;
-    private static final int NUMBER_DAYS_TO_UPDATE_OVER_VISIBLE = 14;
-
-    private static final int NUMBER_DAYS_TO_UPDATE_BY_ONE_UPDATE_ITERATION = 5;
-    private static final int ONE_UPDATE_ITERATION_MS = 100;
+    // Announced months are kept within this amount of months around visible ones in virtual mode
+    private static final int MAX_ANNOUNCED_MONTHS_AROUND = 12;
 
     CalendarRecyclerViewAdapter mAdapter;
+    // Not null in virtual mode, see enableVirtualMode()
+    private VirtualCalendarRecyclerViewAdapter mVirtualAdapter;
+    // Range of months which were reported by OnNewMonthsAddedListener in virtual mode,
+    // empty if first month is after last one
+    private int mAnnouncedFirstMonth = 0;
+    private int mAnnouncedLastMonth = -1;
     private OnNewMonthsAddedListener mOnNewMonthsAddedListener;
+    private CalendarCallbacks mItemClickListener;
     private GridLayoutManager mLayoutManager;
     private Handler mUiHandler;
     private Handler mLoadingMoreHandler;
+    private final MonthLoader mMonthLoader = new MonthLoader();
+    // Applies indicator updates to visible cells frame by frame
+    private final CellUpdateScheduler mUpdateScheduler = new CellUpdateScheduler();
+    private long mLoadStartUptimeMillis;
 
     private int mScrolledForwardMonthCount;
     private int mScrolledBackwardMonthCount;
@@ -81,13 +90,20 @@ public class CalendarRecyclerView extends RecyclerView implements OnLoadMoreList
             @Override
             public int getSpanSize(int position) {
                 // make non days items be with width as match_parent
-                return getAdapter().getItemViewType(position) == CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_DAY ?
-                        1 : NUMBER_DAYS_IN_A_WEEK;
+                return getAdapter().getItemViewType(position) == CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_HEADER ?
+                        NUMBER_DAYS_IN_A_WEEK : 1;
             }
         });
+        getRecycledViewPool().setMaxRecycledViews(CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_DAY,
+                MAX_RECYCLED_MONTH_DAYS);
+        getRecycledViewPool().setMaxRecycledViews(CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_DAY_CELL,
+                MAX_RECYCLED_MONTH_DAYS);
+        getRecycledViewPool().setMaxRecycledViews(CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_HEADER,
+                MAX_RECYCLED_MONTH_HEADERS);
         mAdapter = new CalendarRecyclerViewAdapter();
         setLayoutManager(mLayoutManager);
         setAdapter(mAdapter);
+        mUpdateScheduler.setTarget(mAdapter);
 
         // TODO: Consider delete
         mScrolledForwardDate = new Date();
@@ -99,16 +115,34 @@ public class CalendarRecyclerView extends RecyclerView implements OnLoadMoreList
         // Specify listener for scroll events in order to differentiate scroll direction
         addOnScrollListener(new OnListScrollDirectionalListener(this) {
 
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                // Scroll direction was reversed, hence months of pending load aren't needed soon
+                if (dy < 0) {
+                    cancelLoadingMore(DOWN);
+                } else if (dy > 0) {
+                    cancelLoadingMore(UP);
+                }
+                super.onScrolled(recyclerView, dx, dy);
+            }
+
+            @Override
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                super.onScrollStateChanged(recyclerView, newState);
+                // Cell updates wait until scroll settles
+                mUpdateScheduler.setPaused(newState != SCROLL_STATE_IDLE);
+            }
+
             @Override
             public void onScrolledUp(RecyclerView recyclerView, int dx, int dy) {
-                if (mAdapter != null){
+                if (mAdapter != null && mVirtualAdapter == null){
                     mAdapter.onMonthListScroll((LinearLayoutManager) getLayoutManager(), UP);
                 }
             }
 
             @Override
             public void onScrolledDown(RecyclerView recyclerView, int dx, int dy) {
-                if (mAdapter != null){
+                if (mAdapter != null && mVirtualAdapter == null){
                     mAdapter.onMonthListScroll((LinearLayoutManager) getLayoutManager(), DOWN);
                 }
             }
@@ -116,100 +150,319 @@ public class CalendarRecyclerView extends RecyclerView implements OnLoadMoreList
 
     }
 
-    private boolean notifyUpdateVisibleItems() {
-        final int first = mLayoutManager.findFirstVisibleItemPosition();
-        final int last = mLayoutManager.findLastVisibleItemPosition();
-        final int maxEnd = mAdapter.getItemCount() - NUMBER_DAYS_LIMIT_TO_START_VIEWS_UPDATE;
-        if (first < NUMBER_DAYS_LIMIT_TO_START_VIEWS_UPDATE) {
-            // clear previous update messages
-            mUiHandler.removeCallbacksAndMessages(null);
-            postNotifyUpdateByParts(first - NUMBER_DAYS_TO_UPDATE_OVER_VISIBLE, last + NUMBER_DAYS_TO_UPDATE_OVER_VISIBLE);
-            return true;
-        } else if (last > maxEnd) {
-            // clear previous update messages
-            mUiHandler.removeCallbacksAndMessages(null);
-            postNotifyUpdateByParts(first - NUMBER_DAYS_TO_UPDATE_OVER_VISIBLE, last + NUMBER_DAYS_TO_UPDATE_OVER_VISIBLE);
-            return true;
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        TodayClock.getInstance().addOnDayChangedListener(getContext(), this);
+        mUpdateScheduler.setPaused(getScrollState() != SCROLL_STATE_IDLE);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        TodayClock.getInstance().removeOnDayChangedListener(this);
+        mMonthLoader.cancel();
+        mUpdateScheduler.setPaused(true);
+        mAdapter.setLoaded();
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    public void onDayChanged(int previousEpochDay, int currentEpochDay) {
+        if (mVirtualAdapter != null) {
+            mVirtualAdapter.onTodayChanged(previousEpochDay, currentEpochDay);
+        } else {
+            mAdapter.onTodayChanged(previousEpochDay, currentEpochDay);
         }
-        return false;
     }
 
     /**
-     * send notification to adapter by parts #NUMBER_DAYS_TO_UPDATE_BY_ONE_UPDATE_ITERATION with specific interval of time
+     * Switches calendar to {@link VirtualCalendarRecyclerViewAdapter}: all months of very large
+     * range are available immediately without load more, only days with data are kept in memory.
+     * {@link OnNewMonthsAddedListener} is informed regarding months once they become visible.
+     * Should be called before {@link #initFirstLoading()}.
      */
-    private void postNotifyUpdateByParts(final int currentPosition, final int maxPosition) {
-        mUiHandler.postDelayed(new Runnable() {
+    public void enableVirtualMode() {
+        if (mVirtualAdapter != null) {
+            return;
+        }
+        mMonthLoader.cancel();
+        mVirtualAdapter = new VirtualCalendarRecyclerViewAdapter();
+        mVirtualAdapter.setItemClickListener(mItemClickListener);
+        mVirtualAdapter.setCustomDrawnCells(mAdapter.isCustomDrawnCells());
+        setAdapter(mVirtualAdapter);
+        mUpdateScheduler.setTarget(mVirtualAdapter);
+        addOnScrollListener(new OnScrollListener() {
             @Override
-            public void run() {
-                if (getScrollState() == SCROLL_STATE_IDLE && currentPosition <= maxPosition) {
-                    mAdapter.notifyItemRangeChanged(currentPosition, NUMBER_DAYS_TO_UPDATE_BY_ONE_UPDATE_ITERATION);
-                    postNotifyUpdateByParts(currentPosition + NUMBER_DAYS_TO_UPDATE_BY_ONE_UPDATE_ITERATION, maxPosition);
-                } else {
-                    mUiHandler.removeCallbacksAndMessages(null);
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                if (newState == SCROLL_STATE_IDLE) {
+                    announceVisibleMonths();
                 }
             }
-        }, ONE_UPDATE_ITERATION_MS);
+        });
+    }
+
+    public boolean isVirtualModeEnabled() {
+        return mVirtualAdapter != null;
+    }
+
+    /**
+     * Switches calendar to virtual mode where each item is whole month drawn by single view
+     * instead of month header and separate day cells, see {@link #enableVirtualMode()}.
+     * Should be called before {@link #initFirstLoading()}.
+     */
+    public void enableWholeMonthMode() {
+        enableVirtualMode();
+        mVirtualAdapter.setWholeMonthItems(true);
+        // One month per row
+        mLayoutManager.setSpanCount(1);
+        mLayoutManager.setSpanSizeLookup(new GridLayoutManager.DefaultSpanSizeLookup());
+    }
+
+    public boolean isWholeMonthModeEnabled() {
+        return mVirtualAdapter != null && mVirtualAdapter.isWholeMonthItems();
+    }
+
+    /**
+     * Informs {@link OnNewMonthsAddedListener} regarding visible months (and one month around them)
+     * which weren't reported yet, virtual mode only. Reported months are kept as single range
+     * bounded by {@link #MAX_ANNOUNCED_MONTHS_AROUND}, so months far away are reported again
+     * once they become visible, the same as evicted months are regenerated in list mode.
+     */
+    private void announceVisibleMonths() {
+
+        final int firstVisiblePosition = mLayoutManager.findFirstVisibleItemPosition();
+        final int lastVisiblePosition = mLayoutManager.findLastVisibleItemPosition();
+        if (firstVisiblePosition == NO_POSITION || lastVisiblePosition == NO_POSITION) {
+            return;
+        }
+
+        final int firstMonthOrdinal = mVirtualAdapter.getMonthOrdinalByPosition(firstVisiblePosition) - 1;
+        final int lastMonthOrdinal = mVirtualAdapter.getMonthOrdinalByPosition(lastVisiblePosition) + 1;
+
+        final List<MixedVisibleMonth> months = new ArrayList<>();
+        if (mAnnouncedFirstMonth > mAnnouncedLastMonth || lastMonthOrdinal < mAnnouncedFirstMonth - 1
+                || firstMonthOrdinal > mAnnouncedLastMonth + 1) {
+            // Jump away from announced months, hence start new range
+            addMonths(months, firstMonthOrdinal, lastMonthOrdinal);
+            mAnnouncedFirstMonth = firstMonthOrdinal;
+            mAnnouncedLastMonth = lastMonthOrdinal;
+        } else {
+            addMonths(months, firstMonthOrdinal, mAnnouncedFirstMonth - 1);
+            addMonths(months, mAnnouncedLastMonth + 1, lastMonthOrdinal);
+            mAnnouncedFirstMonth = Math.min(mAnnouncedFirstMonth, firstMonthOrdinal);
+            mAnnouncedLastMonth = Math.max(mAnnouncedLastMonth, lastMonthOrdinal);
+        }
+        mAnnouncedFirstMonth = Math.max(mAnnouncedFirstMonth, firstMonthOrdinal - MAX_ANNOUNCED_MONTHS_AROUND);
+        mAnnouncedLastMonth = Math.min(mAnnouncedLastMonth, lastMonthOrdinal + MAX_ANNOUNCED_MONTHS_AROUND);
+
+        if (!months.isEmpty()) {
+            updateScrolledBoundariesStatistics(UP, months.get(0));
+            updateScrolledBoundariesStatistics(DOWN, months.get(months.size() - 1));
+            if (mOnNewMonthsAddedListener != null) {
+                mOnNewMonthsAddedListener.onNewMonthsAdded(months);
+            }
+        }
+    }
+
+    private static void addMonths(@NonNull final List<MixedVisibleMonth> months,
+                                  final int firstMonthOrdinal, final int lastMonthOrdinal) {
+        for (int monthOrdinal = firstMonthOrdinal; monthOrdinal <= lastMonthOrdinal; monthOrdinal++) {
+            months.add(CalendarDataFactory.newInstance().create(monthOrdinal));
+        }
     }
 
+    /**
+     * Programmatic scroll doesn't change scroll state, hence visible months are announced
+     * once layout is done
+     */
+    private void postAnnounceVisibleMonths() {
+        mLoadingMoreHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                announceVisibleMonths();
+            }
+        });
+    }
 
     public void initFirstLoading() {
+        if (mVirtualAdapter != null) {
+            initFirstVirtualLoading();
+            return;
+        }
         List<MixedVisibleMonth> monthList = initMonthListForDate(mInitialDate);
         setData(monthList);
         scrollToCurrentMonth();
         // fake call of smooth scroll, so it will invalidate calendar
         smoothScrollToCurrentMonth();
-        addOnScrollListener(new OnScrollListener() {
-            @Override
-            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
-                if (getScrollState() == SCROLL_STATE_IDLE) {
-                    notifyUpdateVisibleItems();
-                }
-            }
+    }
 
-            @Override
-            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
-            }
-        });
+    private void initFirstVirtualLoading() {
+        mAnnouncedFirstMonth = 0;
+        mAnnouncedLastMonth = -1;
+        scrollToCurrentMonth();
     }
 
     public void scrollToCurrentMonth() {
         stopScroll();
+        if (mVirtualAdapter != null) {
+            mLayoutManager.scrollToPositionWithOffset(mVirtualAdapter.getCurrentMonthHeaderPosition(), 0);
+            postAnnounceVisibleMonths();
+            return;
+        }
+        if (mAdapter.getCurrentMonthHeaderPosition() == NO_POSITION) {
+            // Current month was evicted, hence regenerate months around it
+            setData(initMonthListForDate(new Date()));
+        }
         // according to {@link http://stackoverflow.com/questions/30845742/smoothscrolltoposition-doesnt-work-properly-with-recyclerview}
         mLayoutManager.scrollToPositionWithOffset(mAdapter.getCurrentMonthHeaderPosition(), 0);
     }
 
+    /**
+     * Scrolls to header of month which contains provided date, months around the date are
+     * regenerated if the month isn't loaded
+     *
+     * @param date {@link Date}
+     */
+    public void scrollToDate(@NonNull Date date) {
+        stopScroll();
+        final int monthOrdinal = MonthOrdinal.ofEpochDay(EpochDay.fromDate(date));
+        if (mVirtualAdapter != null) {
+            final int position = mVirtualAdapter.getMonthHeaderPosition(monthOrdinal);
+            if (position != NO_POSITION) {
+                mLayoutManager.scrollToPositionWithOffset(position, 0);
+                postAnnounceVisibleMonths();
+            }
+            return;
+        }
+        if (mAdapter.getMonthHeaderPosition(monthOrdinal) == NO_POSITION) {
+            setData(initMonthListForDate(date));
+        }
+        mLayoutManager.scrollToPositionWithOffset(mAdapter.getMonthHeaderPosition(monthOrdinal), 0);
+    }
+
     public void smoothScrollToCurrentMonth() {
+        if (mVirtualAdapter != null) {
+            smoothScrollToPosition(mVirtualAdapter.getCurrentMonthHeaderPosition());
+            return;
+        }
+        if (mAdapter.getCurrentMonthHeaderPosition() == NO_POSITION) {
+            scrollToCurrentMonth();
+            return;
+        }
         smoothScrollToPosition(mAdapter.getCurrentMonthHeaderPosition());
     }
 
     public void setData(List<MixedVisibleMonth> months) {
+        if (mVirtualAdapter != null) {
+            mVirtualAdapter.updateMonthsIndicators(months, true, true);
+            return;
+        }
+        mMonthLoader.cancel();
+        mAdapter.setLoaded();
         mAdapter.setMonths(months);
         if (mOnNewMonthsAddedListener != null) {
             mOnNewMonthsAddedListener.onNewMonthsAdded(months);
         }
     }
 
+    /**
+     * Enables bounded window mode, so memory consumption doesn't grow during long scroll sessions:
+     * months farther than provided amount of months from viewport are evicted and regenerated
+     * once user scrolls back to them
+     *
+     * @param monthWindow amount of months kept before and after visible months, 0 disables eviction
+     */
+    public void setMonthWindow(int monthWindow) {
+        mAdapter.setMonthWindow(monthWindow);
+    }
+
+    /**
+     * Specifies policy of loading more months while user scrolls calendar,
+     * {@link AdaptivePrefetchPolicy} is used by default
+     *
+     * @param prefetchPolicy {@link PrefetchPolicy}, e.g. {@link FixedPrefetchPolicy}
+     */
+    public void setPrefetchPolicy(@NonNull PrefetchPolicy prefetchPolicy) {
+        mAdapter.setPrefetchPolicy(prefetchPolicy);
+    }
+
+    /**
+     * Highlights provided day, only cells of previous and new selected days are rebound
+     *
+     * @param date day to select or null to clear selection
+     */
+    public void setSelectedDate(@Nullable Date date) {
+        if (mVirtualAdapter != null) {
+            mVirtualAdapter.setSelectedDate(date);
+        } else {
+            mAdapter.setSelectedDate(date);
+        }
+    }
+
+    /**
+     * Draws each month day cell by single {@link DayCellView} instead of view hierarchy,
+     * which reduces measure, layout and draw time while list is scrolled
+     *
+     * @param customDrawnCells true to use {@link DayCellView}
+     */
+    public void setCustomDrawnCells(boolean customDrawnCells) {
+        mAdapter.setCustomDrawnCells(customDrawnCells);
+        if (mVirtualAdapter != null) {
+            mVirtualAdapter.setCustomDrawnCells(customDrawnCells);
+        }
+    }
+
+    public boolean isCustomDrawnCells() {
+        return mAdapter.isCustomDrawnCells();
+    }
+
+    @Nullable
+    public Date getSelectedDate() {
+        return mVirtualAdapter != null ? mVirtualAdapter.getSelectedDate() : mAdapter.getSelectedDate();
+    }
+
     public void setCalendarItemClickListener(@NonNull CalendarCallbacks calendarItemClickListener) {
+        mItemClickListener = calendarItemClickListener;
         mAdapter.setItemClickListener(calendarItemClickListener);
+        if (mVirtualAdapter != null) {
+            mVirtualAdapter.setItemClickListener(calendarItemClickListener);
+        }
     }
 
     public void setOnNewMonthsAddedListener(OnNewMonthsAddedListener onNewMonthsAddedListener) {
         mOnNewMonthsAddedListener = onNewMonthsAddedListener;
     }
 
-    public void updateMonths(@NonNull final List<MixedVisibleMonth> monthList, boolean shift, boolean myRequests) {
-        mAdapter.updateMonthsIndicators(monthList, shift, myRequests);
-        mLoadingMoreHandler.post(new Runnable() {
-            @Override
-            public void run() {
-                notifyUpdateVisibleItems();
-            }
-        });
-
+    /**
+     * Copies shift flags and indicators of provided months to loaded ones, only changed cells
+     * are rebound. Cells are rebound frame by frame once list isn't scrolled, see
+     * {@link CellUpdateScheduler}. Can be called from any thread, update is applied on main thread.
+     */
+    public void updateMonths(@NonNull final List<MixedVisibleMonth> monthList, final boolean shift,
+                             final boolean myRequests) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            mUiHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    updateMonths(monthList, shift, myRequests);
+                }
+            });
+            return;
+        }
+        final DayChangeSet changeSet = mUpdateScheduler.getPendingChanges();
+        if (mVirtualAdapter != null) {
+            mVirtualAdapter.updateMonthsIndicators(monthList, shift, myRequests, changeSet);
+        } else {
+            mAdapter.updateMonthsIndicators(monthList, shift, myRequests, changeSet);
+        }
+        mUpdateScheduler.schedule();
     }
 
     public Date getFirstDayOfFullyVisibleMonth() {
         final int firstVisiblePosition = mLayoutManager.findFirstVisibleItemPosition();
+        if (mVirtualAdapter != null) {
+            return mVirtualAdapter.getNextMonthFromPosition(firstVisiblePosition);
+        }
         return mAdapter.getNextMonthFromPosition(firstVisiblePosition);
     }
 
@@ -250,68 +503,81 @@ public class CalendarRecyclerView extends RecyclerView implements OnLoadMoreList
     public void onLoadMore(final Direction scrollDirection) {
 
         if (mAdapter.getMonths().size() == 0) {
+            mAdapter.setLoaded();
             return;
         }
-        // Add null accordingly to scroll direction in order to enable loading progress bar
-        final List<MixedVisibleMonth> months;
+
+        final int anchorMonthOrdinal;
         switch (scrollDirection) {
 
             case DOWN:  // Load future dates
-
-                // Load more
-                months = new ArrayList<>(NUMBER_OF_MONTHS_TO_LOAD);
-                int listCount = mAdapter.getMonths().size();
-                for (int i = listCount, newListCount = listCount + NUMBER_OF_MONTHS_TO_LOAD; i < newListCount; i++) {
-                    // Get current last item
-                    MixedVisibleMonth lastMonth = mAdapter.getMonths().get(mAdapter.getMonths().size() - 1);
-
-                    final MixedVisibleMonth nextMonth = CalendarDataFactory.newInstance()
-                            .create(CalendarUtils.getNextMonth(lastMonth));
-
-                    mAdapter.addItemAtTheEnd(nextMonth);
-                    months.add(nextMonth);
-
-                    updateScrolledBoundariesStatistics(DOWN, nextMonth);
-                }
-
+                anchorMonthOrdinal = mAdapter.getMonths().get(mAdapter.getMonths().size() - 1).getMonthOrdinal();
                 break;
 
             case UP: // Load past dates
-
-                // Load more
-                months = new ArrayList<>(NUMBER_OF_MONTHS_TO_LOAD);
-                for (int i = 0; i < NUMBER_OF_MONTHS_TO_LOAD; i++) {
-                    // Get current first item
-                    final MixedVisibleMonth firstMonth = mAdapter.getMonths().get(0);
-                    final MixedVisibleMonth previousMonth =
-                            CalendarDataFactory.newInstance().create(CalendarUtils.getPreviousMonth(
-                                    firstMonth.getCurrentMonth().getDay(0).getDate()));
-
-                    mAdapter.addItemAtBeginning(previousMonth);
-                    months.add(previousMonth);
-
-                    updateScrolledBoundariesStatistics(UP, previousMonth);
-                }
-
+                anchorMonthOrdinal = mAdapter.getMonths().get(0).getMonthOrdinal();
                 break;
 
             default:
-                months = null;
                 throw new IllegalStateException("Unknown case found");
         }
-        // Inform regarding data set change and finish of loading process with delay
-        mLoadingMoreHandler.postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                if (months != null && mOnNewMonthsAddedListener != null) {
-                    mOnNewMonthsAddedListener.onNewMonthsAdded(months);
-                }
+
+        // Months are generated on background thread and added as single batch
+        mLoadStartUptimeMillis = SystemClock.uptimeMillis();
+        mMonthLoader.load(scrollDirection, anchorMonthOrdinal,
+                mAdapter.getPrefetchPolicy().getMonthsToLoad(), this);
+    }
+
+    @Override
+    public void onMonthsLoaded(@NonNull final Direction direction, final int anchorMonthOrdinal,
+                               @NonNull final List<MixedVisibleMonth> months) {
+
+        final List<MixedVisibleMonth> loadedMonths = mAdapter.getMonths();
+        // Data could be replaced while months were generated
+        final boolean anchorMatched = loadedMonths.size() > 0 && anchorMonthOrdinal
+                == loadedMonths.get(direction == DOWN ? loadedMonths.size() - 1 : 0).getMonthOrdinal();
+
+        if (anchorMatched) {
+            // Evict far months on the opposite side before insertion, while positions of visible
+            // items are still in sync with adapter data
+            mAdapter.evictFarMonths(direction, mLayoutManager.findFirstVisibleItemPosition(),
+                    mLayoutManager.findLastVisibleItemPosition());
+
+            mAdapter.getPrefetchPolicy().onMonthsLoaded(months.size(),
+                    SystemClock.uptimeMillis() - mLoadStartUptimeMillis);
+
+            if (direction == DOWN) {
+                mAdapter.addItemsAtTheEnd(months);
+                updateScrolledBoundariesStatistics(DOWN, months.get(months.size() - 1));
+            } else {
+                mAdapter.addItemsAtBeginning(months);
+                updateScrolledBoundariesStatistics(UP, months.get(0));
             }
-        }, 500);
+
+            // Inform regarding data set change with delay
+            mLoadingMoreHandler.postDelayed(new Runnable() {
+                @Override
+                public void run() {
+                    if (mOnNewMonthsAddedListener != null) {
+                        mOnNewMonthsAddedListener.onNewMonthsAdded(months);
+                    }
+                }
+            }, 500);
+        }
 
         mAdapter.setLoaded();
     }
 
+    /**
+     * Cancels pending load of months in provided direction, so load in opposite direction
+     * can be started immediately
+     */
+    private void cancelLoadingMore(@NonNull final Direction direction) {
+        if (mMonthLoader.cancel(direction)) {
+            mAdapter.setLoaded();
+        }
+    }
+
     private List<MixedVisibleMonth> initMonthListForDate(@NonNull Date date){
 
         List<MixedVisibleMonth> monthList = new ArrayList<>();
@@ -377,8 +643,18 @@ public class CalendarRecyclerView extends RecyclerView implements OnLoadMoreList
 
         if (mLayoutManager != null && mAdapter != null) {
 
-            final int firstItemIndex = 0;
-            final int lastItemIndex = mAdapter.getItemCount() - 1;
+            int firstItemIndex = 0;
+            int lastItemIndex = mAdapter.getItemCount() - 1;
+
+            if (mVirtualAdapter != null) {
+                // Only days with data are loaded in virtual mode
+                final int[] range = mVirtualAdapter.getMaterializedPositionRange();
+                if (range == null) {
+                    return snapshotData;
+                }
+                firstItemIndex = range[0];
+                lastItemIndex = range[1];
+            }
 
             fillSnapshotDataByRange(snapshotData, firstItemIndex, lastItemIndex);
         }
@@ -399,29 +675,36 @@ public class CalendarRecyclerView extends RecyclerView implements OnLoadMoreList
                                                          final int endDayPosition){
 
         if (mLayoutManager != null && mAdapter != null
-                && beginDayPosition < endDayPosition
-                && endDayPosition < mAdapter.getItemCount()) {
+                && beginDayPosition >= 0
+                && beginDayPosition <= endDayPosition
+                && endDayPosition < getAdapter().getItemCount()) {
 
             int numCellsWithIndicators = 0;
             int numCellsWithOneIcon = 0;
             int numCellsWithTwoIcons = 0;
             int numCellsWithPotentiallyExtraIcon = 0;
 
-            for (int i = beginDayPosition; i <= endDayPosition; i++) {
+            // Whole month items are expanded to days, items of list adapter are days themselves
+            final List<Day> days = mVirtualAdapter != null
+                    ? mVirtualAdapter.getDaysByPositionRange(beginDayPosition, endDayPosition) : null;
+            final int dayCount = days != null ? days.size() : endDayPosition - beginDayPosition + 1;
+
+            for (int i = 0; i < dayCount; i++) {
 
-                Day day = mAdapter.getDayByPosition(i);
+                final Day day = days != null ? days.get(i) : mAdapter.getDayByPosition(beginDayPosition + i);
 
-                if (DayState.DayType.NON_CURRENT_MONTH_DAY != day.getDayState().getType()
-                        && DayState.DayType.MONTH_HEADER != day.getDayState().getType()) {
+                if (DayState.DayType.NON_CURRENT_MONTH_DAY != day.getDayType()
+                        && DayState.DayType.MONTH_HEADER != day.getDayType()) {
 
                     // count only normal days
                     if (day.isShiftEnabled()) {
                         numCellsWithIndicators++;
                     }
 
-                    boolean auctionWithoutBidsPresent = day.getAuctionNoBidItem() != null;
-                    boolean auctionWithBidsPresent = day.getAuctionWithBidItem() != null;
-                    boolean timeOffRequestPresent = day.getTimeOffItem() != null;
+                    final int indicatorMask = day.getIndicatorMask();
+                    boolean auctionWithoutBidsPresent = (indicatorMask & DayIndicators.AUCTION_NO_BID) != 0;
+                    boolean auctionWithBidsPresent = (indicatorMask & DayIndicators.AUCTION_WITH_BID) != 0;
+                    boolean timeOffRequestPresent = (indicatorMask & DayIndicators.TIME_OFF) != 0;
 
                     boolean requestIconVisible = timeOffRequestPresent || auctionWithBidsPresent;
                     boolean auctionIconVisible = auctionWithoutBidsPresent;
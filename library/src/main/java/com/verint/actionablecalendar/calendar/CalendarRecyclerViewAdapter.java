@@ -1,11 +1,12 @@
 package com.verint.actionablecalendar.calendar;
 
-import android.graphics.Color;
+import android.content.Context;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.util.Log;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
@@ -13,10 +14,10 @@ import android.widget.TextView;
 import com.verint.actionablecalendar.calendar.listener.OnLoadMoreListener;
 import com.verint.actionablecalendar.calendar.listener.OnMonthListScrollListener;
 import com.verint.actionablecalendar.calendar.models.Direction;
+import com.verint.actionablecalendar.calendar.models.EventIndicator;
+import com.verint.actionablecalendar.utils.CalendarLocaleData;
 import com.verint.mylibrary.R;
 
-import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -29,70 +30,216 @@ import java.util.logging.Logger;
  */
 
 public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
-        implements OnMonthListScrollListener {
+        implements OnMonthListScrollListener, DayChangeSet.Target {
 
     public static final int VIEW_TYPE_MONTH_HEADER = 0;
     public static final int VIEW_TYPE_MONTH_DAY = 1;
-
-    private static final int MIN_DAYS_INTERVAL_COUNT_TO_START_LOADING_MORE =
-            CalendarRecyclerView.NUMBER_OF_MONTHS_TO_LOAD * 31 / 2 + CalendarRecyclerView.NUMBER_OF_MONTHS_TO_LOAD * 10/*additional days*/ ;
-
-    private final List<MixedVisibleMonth> mMonths = new ArrayList<>();
-    private final List<Day> mDays = new ArrayList<>();
+    // Month day drawn by DayCellView, see setCustomDrawnCells()
+    public static final int VIEW_TYPE_MONTH_DAY_CELL = 2;
+    // Whole month drawn by MonthCanvasView, see VirtualCalendarRecyclerViewAdapter.setWholeMonthItems()
+    public static final int VIEW_TYPE_MONTH = 3;
+
+    // Epoch day value which means that no day is selected
+    static final int NO_SELECTED_DAY = Integer.MIN_VALUE;
+
+    // Segments of month grid, item id is epoch day combined with segment of item
+    static final int ITEM_SEGMENT_HEADER = 0;
+    static final int ITEM_SEGMENT_PREVIOUS_MONTH = 1;
+    static final int ITEM_SEGMENT_CURRENT_MONTH = 2;
+    static final int ITEM_SEGMENT_NEXT_MONTH = 3;
+    private static final int ITEM_SEGMENT_BITS = 3;
+
+    // Indicators which are updated by updateMonthsIndicators(), in case of myRequests flag
+    static final int[] MY_REQUEST_INDICATOR_KINDS = {
+            MonthDayStore.INDICATOR_TIME_OFF,
+            MonthDayStore.INDICATOR_AUCTION_NO_BID,
+            MonthDayStore.INDICATOR_AUCTION_WITH_BID,
+            MonthDayStore.INDICATOR_MY_SWAP_POST,
+            MonthDayStore.INDICATOR_SWAP_REQUEST
+    };
+
+    // Items of each month are kept in separate chunk, so prepend doesn't move loaded items
+    private final MonthChunkList mMonths = new MonthChunkList();
+    // Cells changed by recent indicators update
+    private final DayChangeSet mChangeSet = new DayChangeSet();
+    // Epoch day of selected day or NO_SELECTED_DAY
+    private int mSelectedEpochDay = NO_SELECTED_DAY;
+
+    private boolean mCustomDrawnCells;
+    // Shared by all DayCellView cells, created on demand
+    private DayCellRenderer mCellRenderer;
+    // Resolved from theme once first cell is created
+    private CalendarStyle mStyle;
 
     private OnLoadMoreListener mOnLoadMoreListener;
     private CalendarCallbacks mItemClickListener;
+    private final OnDayCellClickListener mDayCellClickListener = new OnDayCellClickListener() {
+
+        @Override
+        public void onDayCellClick(int position) {
+            if (mItemClickListener != null) {
+                mItemClickListener.onCalendarItemClick(mMonths.getDay(position), position);
+            }
+        }
 
-    // contains current month start position, in order not to count it all the time
-    private int mCurrentMonthHeaderPosition;
+        @Override
+        public void onDayCellLongClick(int position) {
+            if (mItemClickListener != null) {
+                mItemClickListener.onCalendarItemLongClick(mMonths.getDay(position), position);
+            }
+        }
+    };
 
 
     private boolean mLoadingInProgress;
 
+    // Maximum amount of months kept before and after visible months, 0 means unbounded list
+    private int mMonthWindow;
+
+    private PrefetchPolicy mPrefetchPolicy = new AdaptivePrefetchPolicy();
+    // First visible position of recent scroll event, used to measure scroll velocity
+    private int mRecentFirstVisiblePosition = RecyclerView.NO_POSITION;
+
     public CalendarRecyclerViewAdapter() {
+        setHasStableIds(true);
+    }
+
+    /**
+     * Returns stable id of item: the same day is shown by header, by cell of its own month and
+     * by cells of previous and next months grids, hence segment is combined with epoch day
+     *
+     * @param epochDay see {@link EpochDay}, first day of month for header
+     * @param segment one of ITEM_SEGMENT_* values
+     */
+    static long getItemId(final int epochDay, final int segment) {
+        return ((long) epochDay << ITEM_SEGMENT_BITS) | segment;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        final Day day = mMonths.getDay(position);
+        final int epochDay = day.getEpochDay();
+        final int segment;
+        switch (day.getDayType()) {
+            case MONTH_HEADER:
+                segment = ITEM_SEGMENT_HEADER;
+                break;
+            case NON_CURRENT_MONTH_DAY:
+                final int monthOrdinal = mMonths.getMonthOrdinal(mMonths.indexOfPosition(position));
+                segment = MonthOrdinal.ofEpochDay(epochDay) < monthOrdinal
+                        ? ITEM_SEGMENT_PREVIOUS_MONTH : ITEM_SEGMENT_NEXT_MONTH;
+                break;
+            default:
+                segment = ITEM_SEGMENT_CURRENT_MONTH;
+        }
+        return getItemId(epochDay, segment);
     }
 
     @Override
     public int getItemViewType(int position) {
-        Day day = mDays.get(position);
-        return day.getDayState().getType() == DayState.DayType.MONTH_HEADER ?
-                VIEW_TYPE_MONTH_HEADER : VIEW_TYPE_MONTH_DAY;
+        Day day = mMonths.getDay(position);
+        if (day.getDayType() == DayState.DayType.MONTH_HEADER) {
+            return VIEW_TYPE_MONTH_HEADER;
+        }
+        return mCustomDrawnCells ? VIEW_TYPE_MONTH_DAY_CELL : VIEW_TYPE_MONTH_DAY;
     }
 
     @Override
     public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
         if (viewType == VIEW_TYPE_MONTH_HEADER) {
-            return new HeaderViewHolder(LayoutInflater.from(parent.getContext())
-                    .inflate(R.layout.month_header_item, parent, false));
+            return new HeaderViewHolder(
+                    CalendarWarmUp.obtainView(parent, R.layout.month_header_item));
         } else if (viewType == VIEW_TYPE_MONTH_DAY) {
-            return new MonthDayViewHolder(LayoutInflater.from(parent.getContext())
-                    .inflate(R.layout.month_grid_item, parent, false));
+            return new MonthDayViewHolder(CalendarWarmUp.obtainView(parent, R.layout.month_grid_item),
+                    mDayCellClickListener, getStyle(parent.getContext()));
+        } else if (viewType == VIEW_TYPE_MONTH_DAY_CELL) {
+            if (mCellRenderer == null) {
+                mCellRenderer = new DayCellRenderer(parent.getContext(), getStyle(parent.getContext()));
+            }
+            return new DayCellViewHolder(new DayCellView(parent.getContext(), mCellRenderer),
+                    mDayCellClickListener);
         }
         return null;
     }
 
+    @NonNull
+    private CalendarStyle getStyle(@NonNull final Context context) {
+        if (mStyle == null) {
+            mStyle = CalendarStyle.obtain(context);
+        }
+        return mStyle;
+    }
+
     @Override
     public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
-        Day day = mDays.get(position);
+        Day day = mMonths.getDay(position);
         if (holder instanceof HeaderViewHolder) {
             ((HeaderViewHolder) holder).bind(day);
-        } else if (holder instanceof MonthDayViewHolder) {
-            ((MonthDayViewHolder) holder).bind(day, mItemClickListener);
+        } else if (holder instanceof DayViewHolder) {
+            ((DayViewHolder) holder).bind(day);
+            ((DayViewHolder) holder).bindSelection(day.getEpochDay() == mSelectedEpochDay);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(RecyclerView.ViewHolder holder, int position, List<Object> payloads) {
+        final int changes = DayChangeSet.getChanges(payloads);
+        if (changes == DayChangeSet.CHANGE_ALL || !(holder instanceof DayViewHolder)) {
+            onBindViewHolder(holder, position);
+            return;
         }
+        final Day day = mMonths.getDay(position);
+        ((DayViewHolder) holder).bindChanges(day, changes,
+                day.getEpochDay() == mSelectedEpochDay);
     }
 
     @Override
     public int getItemCount() {
-        return mDays.size();
+        return mMonths.getItemCount();
     }
 
+    /**
+     * Returns position of current month header or {@link RecyclerView#NO_POSITION} if current
+     * month was evicted, see {@link #setMonthWindow(int)}
+     */
     public int getCurrentMonthHeaderPosition() {
-        return mCurrentMonthHeaderPosition;
+        return mMonths.getMonthHeaderPosition(MonthOrdinal.current());
+    }
+
+    /**
+     * Returns position of header of provided month
+     *
+     * @param monthOrdinal month, see {@link MonthOrdinal}
+     * @return position or {@link RecyclerView#NO_POSITION} if month isn't loaded
+     */
+    public int getMonthHeaderPosition(final int monthOrdinal) {
+        return mMonths.getMonthHeaderPosition(monthOrdinal);
+    }
+
+    /**
+     * Returns position of provided day within grid of its own month
+     *
+     * @param date {@link Date}
+     * @return position or {@link RecyclerView#NO_POSITION} if month of date isn't loaded
+     */
+    public int getPositionByDate(@NonNull final Date date) {
+        return getPositionByEpochDay(EpochDay.fromDate(date));
+    }
+
+    /**
+     * Returns position of provided day within grid of its own month
+     *
+     * @param epochDay see {@link EpochDay}
+     * @return position or {@link RecyclerView#NO_POSITION} if month of day isn't loaded
+     */
+    @Override
+    public int getPositionByEpochDay(final int epochDay) {
+        return mMonths.getDayPosition(epochDay);
     }
 
     public Date getDateByPosition(int position) {
         if (position < getItemCount()) {
-            return mDays.get(position).getDate();
+            return mMonths.getDay(position).getDate();
         }
         // to avoid null pointer
         return new Date();
@@ -100,7 +247,7 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
 
     public Day getDayByPosition(int position) {
         if (position < getItemCount()) {
-            return mDays.get(position);
+            return mMonths.getDay(position);
         }
         // to avoid null pointer
         return new Day(new Date(), new DayState());
@@ -111,27 +258,38 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
      * @return date of first day of founded next month
      */
     public Date getNextMonthFromPosition(int position) {
-        if (position >= getItemCount()) {
+        final int monthIndex = mMonths.indexOfPosition(position);
+        if (monthIndex < 0) {
             return new Date();
         }
-        Date monthDate = new Date();
-        for ( ; position < getItemCount(); position++) {
-            if (getItemViewType(position) == VIEW_TYPE_MONTH_HEADER) {
-                monthDate = mDays.get(position).getDate();
-                break;
+        // Header of the month itself or header of the next month
+        int headerMonthIndex = monthIndex;
+        if (position != mMonths.getStartPosition(monthIndex)) {
+            headerMonthIndex++;
+            if (headerMonthIndex == mMonths.size()) {
+                return new Date();
             }
         }
-        return monthDate;
+        return mMonths.getDay(mMonths.getStartPosition(headerMonthIndex)).getDate();
     }
 
     @Override
     public void onMonthListScroll(@NonNull LinearLayoutManager linearLayoutManager, @NonNull Direction scrollDirection) {
+
+        final int firstVisibleItemPosition = linearLayoutManager.findFirstVisibleItemPosition();
+        if (mRecentFirstVisiblePosition != RecyclerView.NO_POSITION) {
+            mPrefetchPolicy.onScrolled(firstVisibleItemPosition - mRecentFirstVisiblePosition,
+                    SystemClock.uptimeMillis());
+        }
+        mRecentFirstVisiblePosition = firstVisibleItemPosition;
+
+        final int loadTriggerDistance = mPrefetchPolicy.getLoadTriggerDistance();
+
         switch (scrollDirection){
 
             case UP:
-                final int firstVisibleItemPosition = linearLayoutManager.findFirstVisibleItemPosition();
                 if (!mLoadingInProgress &&
-                        (firstVisibleItemPosition - MIN_DAYS_INTERVAL_COUNT_TO_START_LOADING_MORE) <= 0){
+                        (firstVisibleItemPosition - loadTriggerDistance) <= 0){
                     mLoadingInProgress = true;
                     if (mOnLoadMoreListener != null){
                         mOnLoadMoreListener.onLoadMore(scrollDirection);
@@ -144,7 +302,7 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
                 final int lastVisibleItemPosition = linearLayoutManager.findLastVisibleItemPosition();
 
                 if (!mLoadingInProgress &&
-                        totalItemCount <= (lastVisibleItemPosition + MIN_DAYS_INTERVAL_COUNT_TO_START_LOADING_MORE)){
+                        totalItemCount <= (lastVisibleItemPosition + loadTriggerDistance)){
                     mLoadingInProgress = true;
                     if (mOnLoadMoreListener != null){
                         mOnLoadMoreListener.onLoadMore(scrollDirection);
@@ -161,6 +319,100 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
         mOnLoadMoreListener = onLoadMoreListener;
     }
 
+    /**
+     * Enables bounded window mode: months which are farther than provided amount of months from
+     * visible months are evicted once more months are loaded, evicted months are regenerated by
+     * load more on demand
+     *
+     * @param monthWindow amount of months kept before and after visible months, 0 disables eviction
+     */
+    public void setMonthWindow(final int monthWindow) {
+        if (monthWindow < 0) {
+            throw new IllegalArgumentException("Month window can't be negative");
+        }
+        mMonthWindow = monthWindow;
+    }
+
+    /**
+     * Evicts months which are beyond month window on the side opposite to direction of load,
+     * all of them are removed by single range removal
+     *
+     * @param loadDirection direction of upcoming load
+     * @param firstVisiblePosition first visible item position
+     * @param lastVisiblePosition last visible item position
+     * @return amount of removed items
+     */
+    int evictFarMonths(@NonNull final Direction loadDirection, final int firstVisiblePosition,
+                       final int lastVisiblePosition) {
+
+        if (mMonthWindow == 0 || firstVisiblePosition == RecyclerView.NO_POSITION
+                || lastVisiblePosition == RecyclerView.NO_POSITION) {
+            return 0;
+        }
+
+        final int monthCount = mMonths.size();
+        final int removeStart;
+        final int removeCount;
+
+        if (loadDirection == Direction.DOWN) { // Evict past months
+
+            final int evictMonthCount = mMonths.indexOfPosition(firstVisiblePosition) - mMonthWindow;
+            if (evictMonthCount <= 0) {
+                return 0;
+            }
+            removeStart = 0;
+            removeCount = mMonths.getStartPosition(evictMonthCount);
+            mMonths.removeFirst(evictMonthCount);
+
+            shiftRecentFirstVisiblePosition(-removeCount);
+
+        } else { // Evict future months
+
+            final int evictMonthCount = monthCount - 1
+                    - (mMonths.indexOfPosition(lastVisiblePosition) + mMonthWindow);
+            if (evictMonthCount <= 0) {
+                return 0;
+            }
+            removeStart = mMonths.getStartPosition(monthCount - evictMonthCount);
+            removeCount = mMonths.getItemCount() - removeStart;
+            mMonths.removeLast(evictMonthCount);
+        }
+
+        notifyItemRangeRemoved(removeStart, removeCount);
+        return removeCount;
+    }
+
+    /**
+     * Specifies policy of loading more months, {@link AdaptivePrefetchPolicy} is used by default
+     *
+     * @param prefetchPolicy {@link PrefetchPolicy}
+     */
+    public void setPrefetchPolicy(@NonNull PrefetchPolicy prefetchPolicy) {
+        mPrefetchPolicy = prefetchPolicy;
+    }
+
+    @NonNull
+    public PrefetchPolicy getPrefetchPolicy() {
+        return mPrefetchPolicy;
+    }
+
+    /**
+     * Switches month day cells between view hierarchy of month_grid_item.xml and
+     * {@link DayCellView} which draws whole cell by itself
+     *
+     * @param customDrawnCells true to use {@link DayCellView}
+     */
+    public void setCustomDrawnCells(final boolean customDrawnCells) {
+        if (mCustomDrawnCells != customDrawnCells) {
+            mCustomDrawnCells = customDrawnCells;
+            notifyDataSetChanged();
+        }
+    }
+
+    public boolean isCustomDrawnCells() {
+        return mCustomDrawnCells;
+    }
+
     public void setItemClickListener(CalendarCallbacks itemClickListener) {
         mItemClickListener = itemClickListener;
     }
@@ -168,7 +420,7 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
     public void setMonths(List<MixedVisibleMonth> months) {
         clear();
         addMonths(months, false);
-        notifyItemRangeInserted(0, mDays.size());
+        notifyItemRangeInserted(0, mMonths.getItemCount());
     }
 
     /**
@@ -178,7 +430,19 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
      * @param month {@link MixedVisibleMonth}|null
      */
     public void addItemAtBeginning(final MixedVisibleMonth month){
-        notifyItemRangeInserted(0, addMonth(month, true));
+        final int count = addMonth(month, true);
+        shiftRecentFirstVisiblePosition(count);
+        notifyItemRangeInserted(0, count);
+    }
+
+    /**
+     * Keeps reference position for velocity measurement in sync with inserted or removed items,
+     * so change of data isn't treated as scroll
+     */
+    private void shiftRecentFirstVisiblePosition(final int count) {
+        if (mRecentFirstVisiblePosition != RecyclerView.NO_POSITION) {
+            mRecentFirstVisiblePosition = Math.max(0, mRecentFirstVisiblePosition + count);
+        }
     }
 
     /**
@@ -188,27 +452,64 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
      * @param month {@link MixedVisibleMonth}|null
      */
     public void addItemAtTheEnd(final MixedVisibleMonth month){
-        int startIndex = mDays.size();
+        int startIndex = mMonths.getItemCount();
         notifyItemRangeInserted(startIndex, addMonth(month, false));
     }
 
+    /**
+     * Adds {@link MixedVisibleMonth} items to the beginning of data list and notifies adapter
+     * by single range insertion
+     *
+     * @param months months in chronological order which precede currently first month
+     */
+    public void addItemsAtBeginning(@NonNull final List<MixedVisibleMonth> months){
+        final int count = addMonths(months, true);
+        shiftRecentFirstVisiblePosition(count);
+        notifyItemRangeInserted(0, count);
+    }
+
+    /**
+     * Adds {@link MixedVisibleMonth} items to the end of data list and notifies adapter
+     * by single range insertion
+     *
+     * @param months months in chronological order which follow currently last month
+     */
+    public void addItemsAtTheEnd(@NonNull final List<MixedVisibleMonth> months){
+        int startIndex = mMonths.getItemCount();
+        notifyItemRangeInserted(startIndex, addMonths(months, false));
+    }
+
+    /**
+     * Copies shift flags and indicators of provided months to loaded ones and notifies adapter
+     * about changed cells only, should be called from main thread
+     *
+     * @return true if any cell was changed
+     */
     public boolean updateMonthsIndicators(@NonNull final List<MixedVisibleMonth> monthList, boolean shift, boolean myRequests) {
+        final boolean updated = updateMonthsIndicators(monthList, shift, myRequests, mChangeSet);
+        mChangeSet.dispatchTo(this);
+        return updated;
+    }
+
+    /**
+     * Same as {@link #updateMonthsIndicators(List, boolean, boolean)}, but changed days are recorded
+     * to provided set instead of notifying adapter
+     */
+    boolean updateMonthsIndicators(@NonNull final List<MixedVisibleMonth> monthList, boolean shift,
+                                   boolean myRequests, @NonNull final DayChangeSet changeSet) {
         boolean updated = false;
         for (MixedVisibleMonth each : monthList) {
-            boolean oneItemUpdated = updateItemIndicators(each, shift, myRequests);
-            if (!updated) {
-                updated = oneItemUpdated;
+            if (updateItemIndicators(each, shift, myRequests, changeSet)) {
+                updated = true;
             }
         }
-
         return updated;
     }
 
     private void clear() {
-        int size = mDays.size();
-        mDays.clear();
+        int size = mMonths.getItemCount();
         mMonths.clear();
-        mCurrentMonthHeaderPosition = 0;
+        mRecentFirstVisiblePosition = RecyclerView.NO_POSITION;
         notifyItemRangeRemoved(0, size);
     }
 
@@ -222,86 +523,118 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
     }
 
     /**
+     * @param months months in chronological order
      * @see #addMonth(MixedVisibleMonth, boolean)
      */
     private int addMonths(List<MixedVisibleMonth> months, boolean atBeginning) {
         int countAddedDays = 0;
-        if (atBeginning) {
-            mMonths.addAll(0, months);
-        } else {
-            mMonths.addAll(months);
-        }
-        for (MixedVisibleMonth month : months) {
-            boolean isCurrentMonth = false;
-            // check if month is current, and update current month position
-            if (month.getCurrentMonth().size() > 0) {
-                Day firstDayOfMonth = month.getCurrentMonth().getDay(0);
-                if (CalendarUtils.isSameMonthAsCurrent(firstDayOfMonth)) {
-                    mCurrentMonthHeaderPosition = mDays.size();
-                    isCurrentMonth = true;
-                }
-            }
-            List<Day> monthDays = month.getDayListWithHeaders();
+        final int monthCount = months.size();
+        for (int i = 0; i < monthCount; i++) {
+            // Months are prepended one by one starting from the latest one
             if (atBeginning) {
-                mDays.addAll(0, monthDays);
-                if (!isCurrentMonth) {
-                    // We're adding days under today
-                    mCurrentMonthHeaderPosition += monthDays.size();
-                }
+                countAddedDays += mMonths.prepend(months.get(monthCount - 1 - i));
             } else {
-                mDays.addAll(monthDays);
+                countAddedDays += mMonths.append(months.get(i));
             }
-            countAddedDays += monthDays.size();
         }
         return countAddedDays;
     }
 
-    private void removeAllItemsEquals(Day day) {
-        int index = -1;
-        do {
-            index = mDays.indexOf(day);
-            if (index >= 0) {
-                mDays.remove(index);
-                notifyItemRemoved(index);
-            }
-        } while (index >= 0);
+    /**
+     * Rebinds only cells of previous and current today, since today highlight was moved
+     * from one to another
+     *
+     * @param previousEpochDay previous today's epoch day, see {@link EpochDay}
+     * @param currentEpochDay current today's epoch day
+     */
+    void onTodayChanged(final int previousEpochDay, final int currentEpochDay) {
+        // Current month header position is resolved on demand, so only cells are rebound
+        notifyDayChanged(previousEpochDay, DayChangeSet.CHANGE_TODAY);
+        notifyDayChanged(currentEpochDay, DayChangeSet.CHANGE_TODAY);
+    }
+
+    /**
+     * Highlights provided day, previous selection is cleared
+     *
+     * @param date day to select or null to clear selection
+     */
+    public void setSelectedDate(@Nullable final Date date) {
+        final int epochDay = date != null ? EpochDay.fromDate(date) : NO_SELECTED_DAY;
+        if (epochDay == mSelectedEpochDay) {
+            return;
+        }
+        final int previousEpochDay = mSelectedEpochDay;
+        mSelectedEpochDay = epochDay;
+        if (previousEpochDay != NO_SELECTED_DAY) {
+            notifyDayChanged(previousEpochDay, DayChangeSet.CHANGE_SELECTION);
+        }
+        if (epochDay != NO_SELECTED_DAY) {
+            notifyDayChanged(epochDay, DayChangeSet.CHANGE_SELECTION);
+        }
+    }
+
+    /**
+     * Returns selected day or null if nothing is selected
+     */
+    @Nullable
+    public Date getSelectedDate() {
+        return mSelectedEpochDay != NO_SELECTED_DAY ? EpochDay.toDate(mSelectedEpochDay) : null;
+    }
+
+    private void notifyDayChanged(final int epochDay, final int changes) {
+        final int position = mMonths.getDayPosition(epochDay);
+        if (position != RecyclerView.NO_POSITION) {
+            notifyItemChanged(position, changes);
+        }
     }
 
     /**
-     * for synchronization and changing days from different threads -
-     * We're not setting new days, but updating existing according to indicators to update
-     * @return true if items were updated
+     * We're not setting new days, but updating existing according to indicators to update,
+     * changed days of the month are recorded to provided set
+     * @return true if any day of the month was changed
      */
-    private boolean updateItemIndicators(final MixedVisibleMonth month, boolean shift, boolean myRequests) {
+    private boolean updateItemIndicators(final MixedVisibleMonth month, boolean shift, boolean myRequests,
+                                         @NonNull final DayChangeSet changeSet) {
+        boolean updated = false;
         if (month != null && month.getDayList().size() > 0) {
-            Day firstDay = month.getDay(0);
-            final int index = mDays.indexOf(firstDay);
-            if (index >= 0) {
+            final int monthIndex = mMonths.indexOfMonth(month.getMonthOrdinal());
+            // Month is matched by its ordinal, layout of loaded month should be the same
+            if (monthIndex >= 0
+                    && mMonths.getItemCount(monthIndex) == month.getItemCountWithHeader()) {
+                // Skip month header
+                final int index = mMonths.getStartPosition(monthIndex) + 1;
                 List<Day> newDays = month.getDayList();
                 final int newDaysSize = newDays.size();
                 // one by one update in case same date
                 for (int i = 0; i < newDaysSize; i++) {
-                    Day day = mDays.get(i + index);
+                    Day day = mMonths.getDay(i + index);
                     Day newDay = newDays.get(i);
-                    if (shift) {
+                    int changes = 0;
+                    if (shift && day.isShiftEnabled() != newDay.isShiftEnabled()) {
                         day.setShiftEnabled(newDay.isShiftEnabled());
+                        changes |= DayChangeSet.CHANGE_SHIFT;
                     }
                     if (myRequests) {
-                        day.setTimeOffItem(newDay.getTimeOffItem());
-                        day.setAuctionNoBidItem(newDay.getAuctionNoBidItem());
-                        day.setAuctionWithBidItem(newDay.getAuctionWithBidItem());
-
-                        day.setMySwapPost(newDay.getMySwapPost());
-                        day.setSwapRequest(newDay.getSwapRequest());
+                        for (int kind : MY_REQUEST_INDICATOR_KINDS) {
+                            final int handle = newDay.getIndicatorHandle(kind);
+                            if (day.getIndicatorHandle(kind) != handle) {
+                                day.setIndicatorHandle(kind, handle);
+                                changes |= 1 << kind;
+                            }
+                        }
+                    }
+                    // Days of previous and next month are shown empty
+                    if (changes != 0 && day.getDayType() != DayState.DayType.NON_CURRENT_MONTH_DAY) {
+                        changeSet.add(day.getEpochDay(), changes);
+                        updated = true;
                     }
                 }
-                return true;
             }
         }
-        return false;
+        return updated;
     }
 
-    private class HeaderViewHolder extends RecyclerView.ViewHolder {
+    static class HeaderViewHolder extends RecyclerView.ViewHolder {
         private TextView mTvTitle;
 
         public HeaderViewHolder(View itemView) {
@@ -310,10 +643,15 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
         }
 
         public void bind(Day day) {
-            Calendar calendar = CalendarUtils.getCalendarFrom(day.getDate());
-            final String monthName = calendar.getDisplayName(Calendar.MONTH, Calendar.LONG,
-                    Locale.getDefault());
-            final int year = calendar.get(Calendar.YEAR);
+            bind(day.getEpochDay());
+        }
+
+        /**
+         * @param epochDay any day of month, see {@link EpochDay}
+         */
+        void bind(final int epochDay) {
+            final String monthName = CalendarLocaleData.getDefault().getMonthName(EpochDay.month(epochDay));
+            final int year = EpochDay.year(epochDay);
             mTvTitle.setText(String.format(Locale.getDefault(), "%s %d", monthName, year));
         }
 
@@ -327,13 +665,129 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
         mLoadingInProgress = false;
     }
 
+    /**
+     * Returns read-only list of loaded months in chronological order
+     */
     public List<MixedVisibleMonth> getMonths() {
-        return mMonths;
+        return mMonths.asMonthList();
     }
 
     // --------------------------------------------------------------------------------------------
 
-    private class MonthDayViewHolder extends RecyclerView.ViewHolder {
+    /**
+     * Receives clicks of month day cells, day is resolved by adapter position at click time
+     */
+    interface OnDayCellClickListener {
+
+        void onDayCellClick(int position);
+
+        void onDayCellLongClick(int position);
+    }
+
+    /**
+     * Holder of month day cell, either {@link MonthDayViewHolder} or {@link DayCellViewHolder}.
+     * Holder is click listener of its own cell, so no listeners are created on bind.
+     */
+    abstract static class DayViewHolder extends RecyclerView.ViewHolder
+            implements View.OnClickListener, View.OnLongClickListener {
+
+        // Reusable day for cells without data, see VirtualCalendarRecyclerViewAdapter
+        Day mScratchDay;
+
+        private final OnDayCellClickListener mClickListener;
+
+        DayViewHolder(View itemView, @NonNull OnDayCellClickListener clickListener) {
+            super(itemView);
+            mClickListener = clickListener;
+            itemView.setOnClickListener(this);
+            itemView.setOnLongClickListener(this);
+        }
+
+        public abstract void bind(@NonNull Day day);
+
+        /**
+         * Updates only parts of cell which are affected by provided changes
+         *
+         * @param day The day to bind, the same as of recent full bind
+         * @param changes Bit mask of changes, see {@link DayChangeSet}
+         * @param selected True if day is selected
+         */
+        abstract void bindChanges(@NonNull Day day, int changes, boolean selected);
+
+        /**
+         * Highlights month day of selected day, days of previous or next month are never selected
+         */
+        abstract void bindSelection(boolean selected);
+
+        @Override
+        public void onClick(View v) {
+            final int position = getAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                mClickListener.onDayCellClick(position);
+            }
+        }
+
+        @Override
+        public boolean onLongClick(View v) {
+            final int position = getAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                mClickListener.onDayCellLongClick(position);
+            }
+            return true;
+        }
+
+        /**
+         * Enables or disables clicks of cell, days of previous or next month aren't clickable
+         */
+        protected void bindClickable(final boolean clickable) {
+            itemView.setClickable(clickable);
+            itemView.setLongClickable(clickable);
+        }
+    }
+
+    /**
+     * Holder of custom drawn month day cell, see {@link #setCustomDrawnCells(boolean)}
+     */
+    static class DayCellViewHolder extends DayViewHolder {
+
+        protected DayCellView mCellView;
+
+        public DayCellViewHolder(DayCellView itemView, @NonNull OnDayCellClickListener clickListener) {
+            super(itemView, clickListener);
+            mCellView = itemView;
+        }
+
+        @Override
+        public void bind(@NonNull final Day day){
+
+            mCellView.setDay(day);
+            bindClickable(day.getDayType() != DayState.DayType.NON_CURRENT_MONTH_DAY);
+        }
+
+        @Override
+        void bindChanges(@NonNull final Day day, final int changes, final boolean selected){
+
+            if ((changes & ~DayChangeSet.CHANGE_SELECTION) != 0){
+                // All values are copied at once, it's as cheap as copying some of them
+                mCellView.setDay(day);
+            }
+            if ((changes & DayChangeSet.CHANGE_SELECTION) != 0){
+                bindSelection(selected);
+            }
+        }
+
+        @Override
+        void bindSelection(final boolean selected){
+            mCellView.setSelected(selected);
+        }
+    }
+
+    static class MonthDayViewHolder extends DayViewHolder {
+
+        // False for days of previous or next month
+        private boolean mSelectable;
+
+        private final CalendarStyle.CellBackground mBackground;
 
         protected View mRootView;
         protected View mContainerForIndicators;
@@ -342,19 +796,27 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
         protected EventIndicatorView mDayIconFirstLevelView;
         protected EventIndicatorView mDayIconSecondLevelView;
 
-        public MonthDayViewHolder(View itemView) {
-            super(itemView);
+        public MonthDayViewHolder(View itemView, @NonNull OnDayCellClickListener clickListener,
+                                  @NonNull CalendarStyle style) {
+            super(itemView, clickListener);
             mRootView = itemView;
             mContainerForIndicators = itemView.findViewById(R.id.containerMonthGridItem);
             mMonthDay = (TextView) itemView.findViewById(R.id.tvMonthGridItemMonthDay);
             mShiftIndicator = itemView.findViewById(R.id.vMonthGridItemShiftIndicator);
             mDayIconFirstLevelView = (EventIndicatorView) itemView.findViewById(R.id.abvCalendarDayIconFirstLevelView);
             mDayIconSecondLevelView = (EventIndicatorView) itemView.findViewById(R.id.abvCalendarDayIconSecondLevelView);
+
+            mBackground = new CalendarStyle.CellBackground(style, itemView.getResources());
+            style.applyTo(mMonthDay, itemView.findViewById(R.id.vMonthGridItemDivider));
         }
 
-        public void bind(@NonNull final Day day, final CalendarCallbacks listener){
+        @Override
+        public void bind(@NonNull final Day day){
+
+            mSelectable = day.getDayType() != DayState.DayType.NON_CURRENT_MONTH_DAY;
+            bindClickable(mSelectable);
 
-            switch (day.getDayState().getType()){
+            switch (day.getDayType()){
 
                 case CURRENT_MONTH_DAY_NORMAL: // Current month day
 
@@ -365,35 +827,8 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
 
                     mMonthDay.setText(String.valueOf(day.getMonthDay()));
 
-                    if (!CalendarUtils.isToday(day)){ // Not today
-                        mContainerForIndicators.setBackgroundColor(Color.WHITE);
-                    } else { // Today
-                        mContainerForIndicators.setBackgroundResource(R.drawable.calendar_item_current_day_background);
-                    }
-
-                    // Specify click listeners
-                    mRootView.setOnClickListener(new View.OnClickListener() {
-
-                        @Override
-                        public void onClick(View v) {
-
-                            if (listener != null){
-                                listener.onCalendarItemClick(day, -1);
-                            }
-                        }
-                    });
-
-                    mRootView.setOnLongClickListener(new View.OnLongClickListener() {
+                    bindBackground(day);
 
-                        @Override
-                        public boolean onLongClick(View v) {
-
-                            if (listener != null){
-                                listener.onCalendarItemLongClick(day, -1);
-                            }
-                            return true;
-                        }
-                    });
 
                     break;
 
@@ -407,49 +842,19 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
                     // Change day value text color
                     mMonthDay.setText(String.valueOf(day.getMonthDay()));
 
-                    if (!CalendarUtils.isToday(day)){ // Not today
-                        mContainerForIndicators.setBackgroundColor(Color.parseColor("#ebebeb"));
-                    } else { // Today
-                        mContainerForIndicators.setBackgroundResource(R.drawable.calendar_item_current_day_background);
-                    }
-
-                    // Specify click listeners
-                    mRootView.setOnClickListener(new View.OnClickListener() {
-
-                        @Override
-                        public void onClick(View v) {
+                    bindBackground(day);
 
-                            if (listener != null){
-                                listener.onCalendarItemClick(day, -1);
-                            }
-                        }
-                    });
-
-                    mRootView.setOnLongClickListener(new View.OnLongClickListener() {
-
-                        @Override
-                        public boolean onLongClick(View v) {
-
-                            if (listener != null){
-                                listener.onCalendarItemLongClick(day, -1);
-                            }
-                            return true;
-                        }
-                    });
                     break;
 
                 case NON_CURRENT_MONTH_DAY: // Previous or next month
 
                     mMonthDay.setVisibility(View.INVISIBLE);
+                    mMonthDay.setSelected(false);
                     mShiftIndicator.setVisibility(View.INVISIBLE);
                     mDayIconFirstLevelView.setVisibility(View.GONE);
                     mDayIconSecondLevelView.setVisibility(View.GONE);
 
-                    mContainerForIndicators.setBackgroundColor(Color.WHITE);
-
-                    // Remove click listeners
-                    mRootView.setOnClickListener(null);
-                    mRootView.setOnLongClickListener(null);
+                    mBackground.bind(mContainerForIndicators, false, false);
                     break;
 
                 default:
@@ -458,177 +863,87 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
             }
         }
 
-        /**
-         * Assigns icon and badge on first from two possible icons
-         *
-         * @param day The day to assigns icons on it
-         * @param iconTotalCount Total amount of potential icons that can be assigned
-         */
-        private void setVisibilityForFirstIcon(@NonNull final Day day, final int iconTotalCount){
-
-            int firstIconPriorityLevel = -1;
-
-            if (iconTotalCount > 0){
-
-                if (day.getTimeOffItem() != null){
-
-                    mDayIconFirstLevelView.setImage(day.getTimeOffItem().getIconImage());
-                    mDayIconFirstLevelView.setBadge(day.getTimeOffItem().getBadgeImage());
-                    firstIconPriorityLevel = 0;
-
-                } else if (day.getSwapRequest() != null){
+        @Override
+        void bindChanges(@NonNull final Day day, final int changes, final boolean selected){
 
-                    mDayIconFirstLevelView.setImage(day.getSwapRequest().getIconImage());
-                    mDayIconFirstLevelView.setBadge(day.getSwapRequest().getBadgeImage());
-                    firstIconPriorityLevel = 1;
-
-                } else if (day.getMySwapPost() != null){
-
-                    if (day.getRestUsersSwapPost() != null){
-
-                        mDayIconFirstLevelView.setImage(day.getGeneralSwapPost().getIconImage());
-                        mDayIconFirstLevelView.setBadge(day.getGeneralSwapPost().getBadgeImage());
-
-                    } else {
-
-                        mDayIconFirstLevelView.setImage(day.getMySwapPost().getIconImage());
-                        mDayIconFirstLevelView.setBadge(day.getMySwapPost().getBadgeImage());
-                    }
-                    firstIconPriorityLevel = 2;
+            if (day.getDayType() == DayState.DayType.NON_CURRENT_MONTH_DAY){
+                // Nothing is shown for days of previous or next month
+                return;
+            }
 
-                } else if (day.getAuctionWithBidItem() != null){
+            if ((changes & DayChangeSet.CHANGE_SHIFT) != 0){
+                mShiftIndicator.setVisibility(day.isShiftEnabled() ? View.VISIBLE : View.INVISIBLE);
+            }
+            if ((changes & DayChangeSet.CHANGE_INDICATORS) != 0){
+                setVisibilityForLevelIcon(day);
+            }
+            if ((changes & DayChangeSet.CHANGE_TODAY) != 0){
+                bindBackground(day);
+            }
+            if ((changes & DayChangeSet.CHANGE_SELECTION) != 0){
+                bindSelection(selected);
+            }
+        }
 
-                    mDayIconFirstLevelView.setImage(day.getAuctionWithBidItem().getIconImage());
-                    mDayIconFirstLevelView.setBadge(day.getAuctionWithBidItem().getBadgeImage());
-                    firstIconPriorityLevel = 3;
+        @Override
+        void bindSelection(final boolean selected){
+            mMonthDay.setSelected(selected && mSelectable);
+        }
 
-                } else if (day.getAuctionNoBidItem() != null){
+        /**
+         * Assigns background according to day type and today highlight
+         */
+        private void bindBackground(@NonNull final Day day){
 
-                    mDayIconFirstLevelView.setImage(day.getAuctionNoBidItem().getIconImage());
-                    mDayIconFirstLevelView.setBadge(day.getAuctionNoBidItem().getBadgeImage());
-                    firstIconPriorityLevel = 4;
+            mBackground.bind(mContainerForIndicators, CalendarUtils.isToday(day),
+                    day.getDayType() == DayState.DayType.CURRENT_MONTH_DAY_WEEKEND);
+        }
 
-                } else if (day.getRestUsersSwapPost() != null){
+        /**
+         * Assigns icon and badge on first from two possible icons
+         *
+         * @param day The day to assigns icons on it
+         * @param indicatorMask Bit mask of day indicators, see {@link DayIndicators}
+         * @return Kind of assigned indicator or {@link DayIndicators#NONE}
+         */
+        private int setVisibilityForFirstIcon(@NonNull final Day day, final int indicatorMask){
 
-                    if (day.getMySwapPost() == null){
+            final int firstIconKind = DayIndicators.getFirstIconKind(indicatorMask);
 
-                        mDayIconFirstLevelView.setImage(day.getRestUsersSwapPost().getIconImage());
-                        mDayIconFirstLevelView.setBadge(day.getRestUsersSwapPost().getBadgeImage());
-                        firstIconPriorityLevel = 5;
-                    }
-                }
+            if (firstIconKind != DayIndicators.NONE){
+                final EventIndicator indicator = day.getIndicator(firstIconKind);
+                mDayIconFirstLevelView.setImage(indicator.getIconImage());
+                mDayIconFirstLevelView.setBadge(indicator.getBadgeImage());
             }
 
             // Set visibility for first icon according to matching state
-            mDayIconFirstLevelView.setVisibility(iconTotalCount > 0 ? View.VISIBLE : View.INVISIBLE);
-
-            // Set visibility for second icon
-            setVisibilityForSecondIcon(day, iconTotalCount, firstIconPriorityLevel);
+            mDayIconFirstLevelView.setVisibility(firstIconKind != DayIndicators.NONE
+                    ? View.VISIBLE : View.INVISIBLE);
+            return firstIconKind;
         }
 
         /**
          * Assigns icon and badge on second from two possible icons
          *
          * @param day The day to assigns icons on it
-         * @param iconTotalCount Total amount of potential icons that can be assigned
-         * @param firstIconPriorityLevel The priority of first assigned icon
+         * @param indicatorMask Bit mask of day indicators, see {@link DayIndicators}
+         * @param firstIconKind Kind of indicator assigned on the first icon
          */
         private void setVisibilityForSecondIcon(@NonNull final Day day,
-                                                final int iconTotalCount,
-                                                final int firstIconPriorityLevel){
-
-            boolean iconMatched = false;
-
-            if (iconTotalCount > 1){ // Check only if we have two icons and more (first was assigned in previous method)
-
-                if (iconTotalCount < 3){ // If we have less than potential 3 icons
-
-                    // Priority should inform us which type of icon was set on the first level
-                    // icon, next one should be one priority level higher, hence we can exclude from
-                    // matching search several cases, as result result will be matched faster
-                    switch (firstIconPriorityLevel){
-
-                        case -1:
-                            break;
-
-                        case 0:
-
-                            if (day.getSwapRequest() != null) {
-                                mDayIconSecondLevelView.setImage(day.getSwapRequest().getIconImage());
-                                mDayIconSecondLevelView.setBadge(day.getSwapRequest().getBadgeImage());
-                                iconMatched = true;
-                                break;
-                            }
-
-                        case 1:
-
-
-                            if (day.getMySwapPost() != null){
-
-                                if (day.getRestUsersSwapPost() != null){
-                                    mDayIconSecondLevelView.setImage(day.getGeneralSwapPost().getIconImage());
-                                    mDayIconSecondLevelView.setBadge(day.getGeneralSwapPost().getBadgeImage());
-                                } else {
-                                    mDayIconSecondLevelView.setImage(day.getMySwapPost().getIconImage());
-                                    mDayIconSecondLevelView.setBadge(day.getMySwapPost().getBadgeImage());
-                                }
-                                iconMatched = true;
-                                break;
-                            }
-
-                        case 2:
-
-                            if (day.getAuctionWithBidItem() != null) {
-                                mDayIconSecondLevelView.setImage(day.getAuctionWithBidItem().getIconImage());
-                                mDayIconSecondLevelView.setBadge(day.getAuctionWithBidItem().getBadgeImage());
-                                iconMatched = true;
-                                break;
-                            }
-
-                        case 3:
-
-                            if (day.getAuctionNoBidItem() != null && day.getAuctionWithBidItem() == null) {
-                                mDayIconSecondLevelView.setImage(day.getAuctionNoBidItem().getIconImage());
-                                mDayIconSecondLevelView.setBadge(day.getAuctionNoBidItem().getBadgeImage());
-                                iconMatched = true;
-                                break;
-                            }
-
-                        case 4:
-
-                            if (day.getRestUsersSwapPost() != null) {
+                                                final int indicatorMask,
+                                                final int firstIconKind){
 
-                                if (day.getMySwapPost() != null){
+            final int secondIconKind = DayIndicators.getSecondIconKind(indicatorMask, firstIconKind);
 
-                                    mDayIconFirstLevelView.setImage(day.getGeneralSwapPost().getIconImage());
-                                    mDayIconFirstLevelView.setBadge(day.getGeneralSwapPost().getBadgeImage());
-
-                                } else {
-
-                                    mDayIconSecondLevelView.setImage(day.getRestUsersSwapPost().getIconImage());
-                                    mDayIconSecondLevelView.setBadge(day.getRestUsersSwapPost().getBadgeImage());
-                                }
-
-                                iconMatched = true;
-                                break;
-                            }
-
-                        case 5:
-                        default:
-                            // Do nothing
-                            break;
-                    }
-
-                } else {  // If we have 3 icons or more
-
-                    mDayIconSecondLevelView.setImage(day.getMore().getIconImage());
-                    mDayIconSecondLevelView.setBadge(day.getMore().getBadgeImage());
-                    iconMatched = true;
-                }
+            if (secondIconKind != DayIndicators.NONE){
+                final EventIndicator indicator = day.getIndicator(secondIconKind);
+                mDayIconSecondLevelView.setImage(indicator.getIconImage());
+                mDayIconSecondLevelView.setBadge(indicator.getBadgeImage());
             }
 
             // Change icon visibility accordingly to matching value
-            mDayIconSecondLevelView.setVisibility(iconMatched ? View.VISIBLE : View.INVISIBLE);
+            mDayIconSecondLevelView.setVisibility(secondIconKind != DayIndicators.NONE
+                    ? View.VISIBLE : View.INVISIBLE);
         }
 
         /**
@@ -636,7 +951,9 @@ public class CalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerVi
          */
         private void setVisibilityForLevelIcon(Day day) {
 
-            setVisibilityForFirstIcon(day, CalendarUtils.getIconTotalForDay(day));
+            final int indicatorMask = day.getIndicatorMask();
+            final int firstIconKind = setVisibilityForFirstIcon(day, indicatorMask);
+            setVisibilityForSecondIcon(day, indicatorMask, firstIconKind);
         }
     }
 }
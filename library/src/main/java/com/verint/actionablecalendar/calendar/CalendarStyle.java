@@ -0,0 +1,174 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.StateListDrawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+import android.widget.TextView;
+
+import com.verint.mylibrary.R;
+
+/**
+ * Colors and backgrounds of month day cells resolved once from theme: style referenced by
+ * {@code calendarStyle} theme attribute or {@code Widget.ActionableCalendar} by default,
+ * see {@code CalendarStyle} attributes in attrs.xml.
+ *
+ * Today background is kept as shared drawable state, each cell creates its own instance once,
+ * see {@link CellBackground}.
+ */
+public final class CalendarStyle {
+
+    @ColorInt private final int mDayBackgroundColor;
+    @ColorInt private final int mWeekendBackgroundColor;
+    @ColorInt private final int mSelectedDayColor;
+    @ColorInt private final int mDividerColor;
+    @ColorInt private final int mDayTextColor;
+    // False if host's style doesn't specify text color, hence theme's one is kept
+    private final boolean mDayTextColorDefined;
+    private final Drawable mTodayBackground;
+
+    private CalendarStyle(@NonNull final Context context){
+
+        final TypedArray typedArray = context.obtainStyledAttributes(null, R.styleable.CalendarStyle,
+                R.attr.calendarStyle, R.style.Widget_ActionableCalendar);
+
+        try {
+            mDayBackgroundColor = typedArray.getColor(R.styleable.CalendarStyle_calendarDayBackgroundColor,
+                    ContextCompat.getColor(context, R.color.month_grid_item_day_background_color));
+            mWeekendBackgroundColor = typedArray.getColor(R.styleable.CalendarStyle_calendarWeekendBackgroundColor,
+                    ContextCompat.getColor(context, R.color.month_grid_item_weekend_day_background_color));
+            mSelectedDayColor = typedArray.getColor(R.styleable.CalendarStyle_calendarSelectedDayColor,
+                    ContextCompat.getColor(context, R.color.calendar_item_selected_day_background_color));
+            mDividerColor = typedArray.getColor(R.styleable.CalendarStyle_calendarDividerColor,
+                    ContextCompat.getColor(context, R.color.month_grid_item_divider));
+            mDayTextColorDefined = typedArray.hasValue(R.styleable.CalendarStyle_calendarDayTextColor);
+            mDayTextColor = mDayTextColorDefined
+                    ? typedArray.getColor(R.styleable.CalendarStyle_calendarDayTextColor, Color.BLACK)
+                    : getThemeTextColor(context);
+            final Drawable todayBackground = typedArray.getDrawable(R.styleable.CalendarStyle_calendarTodayBackground);
+            mTodayBackground = todayBackground != null ? todayBackground
+                    : ContextCompat.getDrawable(context, R.drawable.calendar_item_current_day_background);
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    /**
+     * Returns primary text color of theme, the same as text views show by default
+     */
+    @ColorInt
+    private static int getThemeTextColor(@NonNull final Context context){
+        final TypedArray typedArray = context.obtainStyledAttributes(new int[]{android.R.attr.textColorPrimary});
+        try {
+            return typedArray.getColor(0, Color.BLACK);
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    /**
+     * Resolves style from theme of provided context
+     */
+    @NonNull
+    public static CalendarStyle obtain(@NonNull final Context context){
+        return new CalendarStyle(context);
+    }
+
+    @ColorInt
+    public int getDayBackgroundColor(){
+        return mDayBackgroundColor;
+    }
+
+    @ColorInt
+    public int getWeekendBackgroundColor(){
+        return mWeekendBackgroundColor;
+    }
+
+    @ColorInt
+    public int getSelectedDayColor(){
+        return mSelectedDayColor;
+    }
+
+    @ColorInt
+    public int getDividerColor(){
+        return mDividerColor;
+    }
+
+    /**
+     * Returns text color of day number specified by style or primary text color of theme
+     */
+    @ColorInt
+    public int getDayTextColor(){
+        return mDayTextColor;
+    }
+
+    /**
+     * Returns new instance of today background which shares state with the others, hence
+     * nothing is inflated
+     */
+    @NonNull
+    public Drawable newTodayBackground(@NonNull final Resources resources){
+        final Drawable.ConstantState state = mTodayBackground.getConstantState();
+        return state != null ? state.newDrawable(resources) : mTodayBackground;
+    }
+
+    /**
+     * Returns new background of day number which is shown once day is selected
+     */
+    @NonNull
+    Drawable newSelectedDayBackground(){
+        final StateListDrawable background = new StateListDrawable();
+        background.addState(new int[]{android.R.attr.state_selected}, new ColorDrawable(mSelectedDayColor));
+        return background;
+    }
+
+    /**
+     * Applies style to views of month_grid_item.xml which don't depend on day, text color
+     * is changed only if style specifies it
+     */
+    void applyTo(@NonNull final TextView monthDay, @NonNull final View divider){
+        if (mDayTextColorDefined){
+            monthDay.setTextColor(mDayTextColor);
+        }
+        ViewCompat.setBackground(monthDay, newSelectedDayBackground());
+        divider.setBackgroundColor(mDividerColor);
+    }
+
+    /**
+     * Backgrounds of single cell created once, background of view is replaced only once
+     * kind of day was changed
+     */
+    static final class CellBackground {
+
+        private final Drawable mDayBackground;
+        private final Drawable mWeekendBackground;
+        private final Drawable mTodayBackground;
+        private Drawable mCurrentBackground;
+
+        CellBackground(@NonNull final CalendarStyle style, @NonNull final Resources resources){
+            mDayBackground = new ColorDrawable(style.getDayBackgroundColor());
+            mWeekendBackground = new ColorDrawable(style.getWeekendBackgroundColor());
+            mTodayBackground = style.newTodayBackground(resources);
+        }
+
+        /**
+         * Assigns background according to day kind, today takes precedence over week end
+         */
+        void bind(@NonNull final View view, final boolean today, final boolean weekend){
+            final Drawable background = today ? mTodayBackground
+                    : (weekend ? mWeekendBackground : mDayBackground);
+            if (background != mCurrentBackground){
+                mCurrentBackground = background;
+                ViewCompat.setBackground(view, background);
+            }
+        }
+    }
+}
@@ -3,8 +3,8 @@ package com.verint.actionablecalendar.calendar;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import com.verint.actionablecalendar.utils.CalendarLocaleData;
+
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
@@ -21,19 +21,21 @@ public class CalendarUtils {
     private static final String TAG = CalendarUtils.class.getSimpleName();
 
     private static final Calendar CALENDAR;
-    private static final DateFormat EEE_DAY_OF_WEEK_FORMAT;
 
     static {
         CALENDAR = Calendar.getInstance();
-        EEE_DAY_OF_WEEK_FORMAT = new SimpleDateFormat("EEE", Locale.getDefault());
     }
 
+    /**
+     * Returns capitalized short name of week day of provided date for currently used {@link Locale}
+     *
+     * @param date {@link Date}
+     * @return {@link String}, e.g. "Mon"
+     */
     public static String getDayOfWeekNameThreeChars(@NonNull Date date){
 
-        String result = EEE_DAY_OF_WEEK_FORMAT.format(date).toLowerCase(Locale.getDefault());
-        // Make first char in upper case
-        result = upperCaseWords(result);
-        return result;
+        return CalendarLocaleData.getDefault()
+                .getShortWeekDayName(EpochDay.dayOfWeek(EpochDay.fromDate(date)));
     }
 
     /**
@@ -46,8 +48,7 @@ public class CalendarUtils {
      */
     public static boolean isToday(Calendar calendar){
 
-        final Calendar todayCalendar = getCalendarForToday();
-        return isSameDay(todayCalendar, calendar);
+        return EpochDay.fromCalendar(calendar) == TodayClock.getInstance().today();
     }
 
     /**
@@ -59,26 +60,7 @@ public class CalendarUtils {
      * @return true|false
      */
     public static boolean isToday (Date date){
-        final Calendar dateCalendar = (Calendar) CALENDAR.clone();
-        dateCalendar.setTime(date);
-        return isToday(dateCalendar);
-    }
-
-    private static String upperCaseWords(@NonNull String line) {
-
-        line = line.trim().toLowerCase();
-        String data[] = line.split("\\s");
-        line = "";
-
-        for(int i=0; i < data.length; i++) {
-            if (data[i].length() > 1) {
-                line = line + data[i].substring(0, 1)
-                        .toUpperCase(Locale.getDefault()) + data[i].substring(1) + " ";
-            } else {
-                line = line + data[i].toUpperCase(Locale.getDefault());
-            }
-        }
-        return line.trim();
+        return EpochDay.fromDate(date) == TodayClock.getInstance().today();
     }
 
     /**
@@ -90,88 +72,24 @@ public class CalendarUtils {
     static Integer getNumDaysInMonth(Integer year, Integer month) {
         Integer result = null;
         if (year != null && month != null) {
-            if (month == 1) {
-                result = 31;
-            }
-            else if (month == 2) {
-                result = isLeapYear(year) ? 29 : 28;
-            }
-            else if (month == 3) {
-                result = 31;
-            }
-            else if (month == 4) {
-                result = 30;
-            }
-            else if (month == 5) {
-                result = 31;
-            }
-            else if (month == 6) {
-                result = 30;
-            }
-            else if (month == 7) {
-                result = 31;
-            }
-            else if (month == 8) {
-                result = 31;
-            }
-            else if (month == 9) {
-                result = 30;
-            }
-            else if (month == 10) {
-                result = 31;
-            }
-            else if (month == 11) {
-                result = 30;
-            }
-            else if (month == 12) {
-                result = 31;
-            }
-            else {
+            if (month < 1 || month > 12) {
                 throw new AssertionError("Month is out of range 1..12:" + month);
             }
-        }
-        return result;
-    }
-
-    /**
-     * Checks if provided year is leap year and returns result accordingly
-     *
-     * @param year, desired year
-     * @return true|false
-     */
-    private static boolean isLeapYear(Integer year) {
-
-        boolean result = false;
-        if (year % 100 == 0) {
-            // this is a century year
-            if (year % 400 == 0) {
-                result = true;
-            }
-        }
-        else if (year % 4 == 0) {
-            result = true;
+            result = EpochDay.lengthOfMonth(year, month - 1);
         }
         return result;
     }
 
     public static Date getTomorrow(@NonNull final Date dayDate) {
 
-        Calendar calendar = (Calendar) CALENDAR.clone();
-        calendar.setTime(dayDate);
-
-        // Add one day
-        calendar.add(Calendar.DATE, 1);
-        return calendar.getTime();
+        // Add one day, time of day stays the same
+        return EpochDay.toDate(EpochDay.fromDate(dayDate) + 1, EpochDay.millisOfDay(dayDate));
     }
 
     public static Date getYesterday(@NonNull final Date dayDate) {
 
-        Calendar calendar = (Calendar) CALENDAR.clone();
-        calendar.setTime(dayDate);
-
-        // Remove one day
-        calendar.add(Calendar.DATE, -1);
-        return calendar.getTime();
+        // Remove one day, time of day stays the same
+        return EpochDay.toDate(EpochDay.fromDate(dayDate) - 1, EpochDay.millisOfDay(dayDate));
     }
 
     /**
@@ -182,7 +100,7 @@ public class CalendarUtils {
      */
     public static Date getNextMonth(@NonNull MixedVisibleMonth month){
 
-        return getNextMonth(month.getCurrentMonth().getDay(0).getDate());
+        return EpochDay.toDate(EpochDay.plusMonths(month.getCurrentMonth().getDay(0).getEpochDay(), 1));
     }
 
     /**
@@ -193,30 +111,32 @@ public class CalendarUtils {
      */
     public static Date getPreviousMonth(@NonNull MixedVisibleMonth month){
 
-        return getPreviousMonth(month.getCurrentMonth().getDay(0).getDate());
+        return EpochDay.toDate(EpochDay.plusMonths(month.getCurrentMonth().getDay(0).getEpochDay(), -1));
     }
 
     public static Date getNextMonth(@NonNull final Date dayDate){
 
-        Calendar calendar = (Calendar) CALENDAR.clone();
-        calendar.setTime(dayDate);
-        // 1-based
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-
-        // Change calendar by adding one month
-        calendar.add(Calendar.MONTH,1);
-        return calendar.getTime();
+        // First day of next month, time of day stays the same
+        return EpochDay.toDate(EpochDay.plusMonths(EpochDay.fromDate(dayDate), 1),
+                EpochDay.millisOfDay(dayDate));
     }
 
     public static Date getPreviousMonth(@NonNull final Date dayDate){
 
-        Calendar calendar = (Calendar) CALENDAR.clone();
-        calendar.setTime(dayDate);
-        // 1-based
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        // Change calendar by removing one month
-        calendar.add(Calendar.MONTH,-1);
-        return calendar.getTime();
+        // First day of previous month, time of day stays the same
+        return EpochDay.toDate(EpochDay.plusMonths(EpochDay.fromDate(dayDate), -1),
+                EpochDay.millisOfDay(dayDate));
+    }
+
+    /**
+     * Returns first day of week (as {@link Calendar#DAY_OF_WEEK} constant) for currently
+     * used {@link Locale}
+     *
+     * @return int, e.g. {@link Calendar#SUNDAY}
+     */
+    public static int getFirstDayOfWeek(){
+
+        return CalendarLocaleData.getDefault().getFirstDayOfWeek();
     }
 
     public static Calendar getCalendarFrom(@NonNull final Date date){
@@ -251,10 +171,8 @@ public class CalendarUtils {
      * @return true if @param day is in same month as current date
      */
     public static boolean isSameMonthAsCurrent(@NonNull final Day day) {
-        Calendar todayCalendar = (Calendar) CALENDAR.clone();
-        todayCalendar.setTimeInMillis(System.currentTimeMillis());
-        return todayCalendar.get(Calendar.YEAR) == day.getCalendar().get(Calendar.YEAR) &&
-                todayCalendar.get(Calendar.MONTH) == day.getCalendar().get(Calendar.MONTH);
+        return EpochDay.firstDayOfMonth(TodayClock.getInstance().today())
+                == EpochDay.firstDayOfMonth(day.getEpochDay());
     }
 
     /**
@@ -276,11 +194,7 @@ public class CalendarUtils {
      */
     public static boolean isToday(@NonNull final Day day){
 
-        final Calendar todayCalendar = (Calendar) CALENDAR.clone();
-        todayCalendar.setTimeInMillis(System.currentTimeMillis());
-
-        final Calendar checkedCalendar = day.getCalendar();
-        return isSameDay(todayCalendar, checkedCalendar);
+        return day.getEpochDay() == TodayClock.getInstance().today();
     }
 
     public static boolean isSameDay(@NonNull final Calendar day1, @NonNull final Calendar day2){
@@ -291,80 +205,53 @@ public class CalendarUtils {
     }
 
     public static boolean isSameDay(@NonNull final Date day1, @NonNull final Date day2){
-        final Calendar day1Calendar = (Calendar) CALENDAR.clone();
-        day1Calendar.setTime(day1);
-
-        final Calendar day2Calendar = (Calendar) CALENDAR.clone();
-        day2Calendar.setTime(day2);
 
-        return isSameDay(day1Calendar, day2Calendar);
+        return EpochDay.fromDate(day1) == EpochDay.fromDate(day2);
     }
 
     /**
      * @return true if today day is before or same as @param day
      */
     public static boolean isTodayBeforeOrSame(@NonNull final Day day) {
-        // return DateUtils.isToday(day.getDate().getTime());
-        final Calendar todayCalendar = (Calendar) CALENDAR.clone();
-        todayCalendar.setTimeInMillis(System.currentTimeMillis());
-
-        final Calendar checkedCalendar = day.getCalendar();
-
-        if (todayCalendar.get(Calendar.YEAR) > checkedCalendar.get(Calendar.YEAR)) {
-            return false;
-        } else {
-            if (todayCalendar.get(Calendar.YEAR) < checkedCalendar.get(Calendar.YEAR)) {
-                return true;
-            } else {
-                if (todayCalendar.get(Calendar.MONTH) > checkedCalendar.get(Calendar.MONTH)) {
-                    return false;
-                } else {
-                    if (todayCalendar.get(Calendar.MONTH) < checkedCalendar.get(Calendar.MONTH)) {
-                        return true;
-                    } else {
-                        if (todayCalendar.get(Calendar.DAY_OF_MONTH) > checkedCalendar.get(Calendar.DAY_OF_MONTH)) {
-                            return false;
-                        } else {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
 
+        return TodayClock.getInstance().today() <= day.getEpochDay();
     }
 
     public static List<Date> generateInitialMonthList(@NonNull final Date desiredDate){
         // generate range of 5 initial months
-        final Date previousMonth = CalendarUtils.getPreviousMonth(desiredDate);
-        final Date previousPreviousMonth = CalendarUtils.getPreviousMonth(previousMonth);
-        final Date nextMonth = CalendarUtils.getNextMonth(desiredDate);
-        final Date nextNextMonth = CalendarUtils.getNextMonth(nextMonth);
-
-        return generateMonthRange(CalendarUtils.getCalendarFrom(previousPreviousMonth),
-                CalendarUtils.getCalendarFrom(nextNextMonth));
+        final int desiredMonth = MonthOrdinal.of(desiredDate);
+        return generateMonthRange(MonthOrdinal.plus(desiredMonth, -2), MonthOrdinal.plus(desiredMonth, 2));
     }
 
+    /**
+     * Generates list of dates of first days of each month from start month until end
+     * month (including)
+     *
+     * @param calendarStart {@link Calendar} of first month in range
+     * @param calendarEnd {@link Calendar} of last month in range
+     * @return list of {@link Date} of beginning of first day of each month
+     */
     public static List<Date> generateMonthRange(final Calendar calendarStart,
                                                 final Calendar calendarEnd){
 
-        List<Date> dateList = new ArrayList<>();
-        // Set day of month to first day of mont (1-based)
-        calendarStart.set(Calendar.DAY_OF_MONTH, 1);
-        calendarEnd.set(Calendar.DAY_OF_MONTH, 1);
+        return generateMonthRange(MonthOrdinal.of(calendarStart), MonthOrdinal.of(calendarEnd));
+    }
 
-        // Add very first item
-        dateList.add(calendarStart.getTime());
+    /**
+     * @see #generateMonthRange(Calendar, Calendar)
+     *
+     * @param startMonthOrdinal {@link MonthOrdinal} of first month in range
+     * @param endMonthOrdinal {@link MonthOrdinal} of last month in range
+     */
+    public static List<Date> generateMonthRange(final int startMonthOrdinal,
+                                                final int endMonthOrdinal){
 
-        // Add next months
-        while (calendarStart.before(calendarEnd)){
-            calendarStart.add(Calendar.MONTH, 1);
-            dateList.add(calendarStart.getTime());
+        // Very first item is added even if range is empty
+        final int count = Math.max(MonthOrdinal.between(startMonthOrdinal, endMonthOrdinal), 0) + 1;
+        List<Date> dateList = new ArrayList<>(count);
 
-            final int year = calendarStart.get(Calendar.YEAR);
-            // FYI: 0-based
-            final int month = calendarStart.get(Calendar.MONTH);
-            final int day = calendarStart.get(Calendar.DAY_OF_MONTH);
+        for (int i = 0; i < count; i++){
+            dateList.add(MonthOrdinal.toDate(MonthOrdinal.plus(startMonthOrdinal, i)));
         }
 
         return dateList;
@@ -430,18 +317,7 @@ public class CalendarUtils {
      */
     public static Date getDateBeginOfDay(@NonNull Date date){
 
-        final Calendar  calendar = (Calendar) CALENDAR.clone();
-        calendar.setTime(date);
-
-        calendar.set(Calendar.HOUR, 0);
-        calendar.set(Calendar.AM_PM, Calendar.AM);
-
-        calendar.set(Calendar.HOUR_OF_DAY,0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-
-        return calendar.getTime();
+        return EpochDay.toDate(EpochDay.fromDate(date));
     }
 
     /**
@@ -452,22 +328,14 @@ public class CalendarUtils {
      */
     public static Date getDateEndOfDay(Date date){
 
-        final Calendar  calendar = (Calendar) CALENDAR.clone();
-        calendar.setTime(date);
-
-        calendar.set(Calendar.HOUR, 11);
-        calendar.set(Calendar.AM_PM, Calendar.PM);
-
-        calendar.set(Calendar.HOUR_OF_DAY,23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 999);
-
-        return calendar.getTime();
+        return EpochDay.toDate(EpochDay.fromDate(date), EpochDay.MILLIS_PER_DAY - 1);
     }
 
     /**
-     * Checks
+     * Calculates amount of whole months passed between provided dates minus one, as if start date
+     * was moved forward month by month while it's still before end date. Calculation is done
+     * by {@link MonthOrdinal} difference, at most a few months are checked for end of month
+     * clamping
      *
      * @param startDate {@link Date}
      * @param endDate {@link Date}
@@ -475,39 +343,51 @@ public class CalendarUtils {
      */
     public static int monthsBetween(Date startDate, Date endDate) {
 
-        Calendar cal = CalendarUtils.getCalendarForToday();
-        if (startDate.before(endDate)) {
-            cal.setTime(startDate);
-        } else {
-            cal.setTime(endDate);
-            endDate = startDate;
+        if (endDate.before(startDate)) {
+            final Date date = startDate;
+            startDate = endDate;
+            endDate = date;
         }
 
-        int count = 0;
-        while (cal.getTime().before(endDate)) {
-            cal.add(Calendar.MONTH, 1);
+        final int startEpochDay = EpochDay.fromDate(startDate);
+        final int endEpochDay = EpochDay.fromDate(endDate);
+        final int startMonthOrdinal = MonthOrdinal.ofEpochDay(startEpochDay);
+
+        int count = MonthOrdinal.between(startMonthOrdinal, MonthOrdinal.ofEpochDay(endEpochDay));
+
+        // Calendar clamps day of month by each shorter month it passes and never restores it,
+        // e.g. January 31 becomes February 28 and then March 28. Any 4 consecutive years
+        // contain February of 28 days, hence the loop is short
+        int startDayOfMonth = EpochDay.dayOfMonth(startEpochDay);
+        for (int i = 1; i <= count && startDayOfMonth > 28; i++) {
+            startDayOfMonth = Math.min(startDayOfMonth, MonthOrdinal.lengthOf(startMonthOrdinal + i));
+        }
+
+        // One more step is required when start date is earlier within its month than end date
+        final int endDayOfMonth = EpochDay.dayOfMonth(endEpochDay);
+        if (startDayOfMonth < endDayOfMonth || (startDayOfMonth == endDayOfMonth
+                && EpochDay.millisOfDay(startDate) < EpochDay.millisOfDay(endDate))) {
             count++;
         }
         return count - 1;
     }
 
     /**
-     * Counting hash code of calendar date, so using only year-month-day combination, and 00:00:00.000 time
-     * @return hashcode of @param calendar date
+     * Returns deterministic key of calendar date, so using only year-month-day combination,
+     * packed as {@code yyyy * 10000 + mm * 100 + dd}, see {@link DayKey}
+     * @return key of @param calendar date
      */
     public static int getHashKey(@NonNull final Calendar calendar){
-        // TODO: Check performance, maybe better to use processing locally
-        return CalendarUtils.getCalendarBeginOfDay(calendar).getTime().toString().hashCode();
+        return DayKey.of(calendar);
     }
 
     /**
-     * Counting hash code of Date, so using only year-month-day combination, and 00:00:00.000 time
-     * @see #getHashKey(Date)
-     * @return hashcode of @param date
+     * Returns deterministic key of Date, so using only year-month-day combination
+     * @see #getHashKey(Calendar)
+     * @return key of @param date
      */
     public static int getHashKey(@NonNull final Date date){
-        // TODO: consider making here dedicated implementation in order to reduce usage of stack memory
-        return getHashKey(CalendarUtils.getCalendarFrom(date));
+        return DayKey.of(date);
     }
 
     /**
@@ -542,29 +422,6 @@ public class CalendarUtils {
      * @return The amount of icons for single {@link Day} cell, e.g. 4
      */
     public static int getIconTotalForDay(@NonNull final Day day){
-
-        int iconCount = 0;
-
-        if (day.getTimeOffItem() != null){
-            iconCount++;
-        }
-
-        if (day.getSwapRequest() != null){
-            iconCount++;
-        }
-
-        // We count my swap posts and posts of rests users as single icon
-        if (day.getMySwapPost() != null
-                || day.getRestUsersSwapPost() != null
-                || day.getGeneralSwapPost() != null){
-            iconCount++;
-        }
-
-        // We count auctions with and without bids as single icon
-        if (day.getAuctionWithBidItem() != null || day.getAuctionNoBidItem() != null){
-            iconCount++;
-        }
-
-        return iconCount;
+        return DayIndicators.getIconTotal(day.getIndicatorMask());
     }
 }
@@ -0,0 +1,125 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.content.Context;
+import android.support.annotation.LayoutRes;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.v4.view.AsyncLayoutInflater;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.verint.actionablecalendar.utils.CalendarLocaleData;
+import com.verint.actionablecalendar.utils.WeekendHelper;
+import com.verint.mylibrary.R;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prepares calendar ahead of the first screen: inflates month cells and headers on background
+ * thread, so adapters of {@link CalendarRecyclerView} take them instead of inflating on main thread,
+ * and initializes locale data, week end days, today and templates of initial months.
+ *
+ * Can be called from {@link android.app.Application#onCreate()}. Pre-inflated views keep
+ * provided context until they're taken by adapter or {@link #release()} is called, hence
+ * application context or context of the activity which shows calendar should be used.
+ */
+public final class CalendarWarmUp {
+
+    // Cells of first screen, 7 rows of month grid
+    public static final int DEFAULT_CELL_COUNT = 7 * 7;
+    public static final int DEFAULT_HEADER_COUNT = 2;
+
+    // Pre-inflated views by layout resource id
+    private static final SparseArray<ArrayDeque<View>> sInflatedViews = new SparseArray<>();
+
+    private CalendarWarmUp(){
+        // Hidden constructor
+    }
+
+    /**
+     * @see #warmUp(Context, int, int)
+     */
+    @MainThread
+    public static void warmUp(@NonNull final Context context){
+        warmUp(context, DEFAULT_CELL_COUNT, DEFAULT_HEADER_COUNT);
+    }
+
+    /**
+     * Starts warm-up, returns immediately
+     *
+     * @param context context to inflate views with
+     * @param cellCount amount of month cells to inflate
+     * @param headerCount amount of month headers to inflate
+     */
+    @MainThread
+    public static void warmUp(@NonNull final Context context, final int cellCount, final int headerCount){
+
+        MonthLoader.execute(new Runnable() {
+            @Override
+            public void run() {
+                CalendarLocaleData.getDefault();
+                WeekendHelper.getWeekendMask(Locale.getDefault());
+                TodayClock.getInstance().today();
+                final List<Date> months = CalendarUtils.generateInitialMonthList(new Date());
+                for (Date each : months){
+                    MonthTemplate.obtain(MonthOrdinal.of(each));
+                }
+            }
+        });
+
+        final AsyncLayoutInflater inflater = new AsyncLayoutInflater(context);
+        // Provides layout params of root views
+        final ViewGroup parent = new FrameLayout(context);
+        final AsyncLayoutInflater.OnInflateFinishedListener listener =
+                new AsyncLayoutInflater.OnInflateFinishedListener() {
+
+            @Override
+            public void onInflateFinished(@NonNull View view, int resId, ViewGroup parent) {
+                ArrayDeque<View> views = sInflatedViews.get(resId);
+                if (views == null){
+                    views = new ArrayDeque<>();
+                    sInflatedViews.put(resId, views);
+                }
+                views.add(view);
+            }
+        };
+        for (int i = 0; i < headerCount; i++){
+            inflater.inflate(R.layout.month_header_item, parent, listener);
+        }
+        for (int i = 0; i < cellCount; i++){
+            inflater.inflate(R.layout.month_grid_item, parent, listener);
+        }
+    }
+
+    /**
+     * Drops pre-inflated views which weren't taken yet
+     */
+    @MainThread
+    public static void release(){
+        sInflatedViews.clear();
+    }
+
+    /**
+     * Returns pre-inflated view of provided layout or inflates it
+     *
+     * @param parent parent the view will be attached to
+     * @param layoutResId layout resource id
+     * @return view which isn't attached to parent
+     */
+    @MainThread
+    @NonNull
+    static View obtainView(@NonNull final ViewGroup parent, @LayoutRes final int layoutResId){
+        final ArrayDeque<View> views = sInflatedViews.get(layoutResId);
+        final View view = views != null ? views.poll() : null;
+        if (view != null){
+            return view;
+        }
+        return LayoutInflater.from(parent.getContext()).inflate(layoutResId, parent, false);
+    }
+}
@@ -10,11 +10,10 @@ import android.view.View;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
+import com.verint.actionablecalendar.utils.CalendarLocaleData;
 import com.verint.actionablecalendar.weekday.HeightWrapGridView;
 import com.verint.mylibrary.R;
 
-import java.util.Calendar;
-import java.util.Date;
 import java.util.Locale;
 
 /**
@@ -76,11 +75,10 @@ public class CalendarWidget extends LinearLayout {
 
     private void setMonthTitle(VisibleMonth currentMonth){
 
-        Date firstDayOfCurrentMonth = currentMonth.getDay(0).getDate();
-        Calendar calendar = CalendarUtils.getCalendarFrom(firstDayOfCurrentMonth);
-        final String monthName = calendar.getDisplayName(Calendar.MONTH, Calendar.LONG,
-                Locale.getDefault());
-        final int year = calendar.get(Calendar.YEAR);
+        final int firstDayOfCurrentMonth = currentMonth.getDay(0).getEpochDay();
+        final String monthName = CalendarLocaleData.getDefault()
+                .getMonthName(EpochDay.month(firstDayOfCurrentMonth));
+        final int year = EpochDay.year(firstDayOfCurrentMonth);
         mDateTitle.setText(String.format(Locale.getDefault(), "%s %d", monthName, year));
     }
 
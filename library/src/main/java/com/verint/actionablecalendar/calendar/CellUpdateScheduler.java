@@ -0,0 +1,170 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.Choreographer;
+
+/**
+ * Applies queued cell updates frame by frame: on each frame as many changed days are dispatched
+ * to adapter as fit in time budget, the rest waits for the next frame. Amount of days per frame
+ * grows while frames are on time and is halved once frame was late, so throughput follows what
+ * device can handle. Changes of the same day are coalesced while queued. Dispatch is paused
+ * while list is scrolled and resumed once scroll settles.
+ *
+ * Frames are driven by {@link Choreographer} where available, by {@link Handler} otherwise.
+ * Should be used from main thread only.
+ */
+final class CellUpdateScheduler {
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final long FRAME_INTERVAL_NANOS = 1000000000L / 60;
+    // Frame is treated as late if it took longer than 1.5 of frame interval
+    private static final long LATE_FRAME_INTERVAL_NANOS = FRAME_INTERVAL_NANOS * 3 / 2;
+    // Time of frame which can be spent on dispatch
+    private static final long FRAME_BUDGET_NANOS = 4 * NANOS_PER_MILLI;
+
+    // Amount of days per frame, one week row is added on each frame which was on time
+    private static final int MIN_BATCH_SIZE = 7;
+    private static final int MAX_BATCH_SIZE = 7 * 6 * 3;
+
+    private final DayChangeSet mPendingChanges = new DayChangeSet();
+    private DayChangeSet.Target mTarget;
+
+    private boolean mPaused;
+    private boolean mScheduled;
+    private int mBatchSize = MIN_BATCH_SIZE;
+    // Time of previous frame of current dispatch, 0 once dispatch is finished
+    private long mRecentFrameTimeNanos;
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final Runnable mFrameRunnable = new Runnable() {
+        @Override
+        public void run() {
+            doFrame(System.nanoTime());
+        }
+    };
+    // Created on demand, since Choreographer isn't available before Jelly Bean
+    private Object mFrameCallback;
+
+    /**
+     * Specifies adapter which is notified regarding changes, pending changes are dropped
+     * once adapter is replaced
+     */
+    void setTarget(@Nullable final DayChangeSet.Target target) {
+        if (target != mTarget) {
+            mTarget = target;
+            cancel();
+        }
+    }
+
+    /**
+     * Returns set to record changes to, {@link #schedule()} should be called afterwards
+     */
+    @NonNull
+    DayChangeSet getPendingChanges() {
+        return mPendingChanges;
+    }
+
+    /**
+     * Requests dispatch of pending changes starting from the next frame
+     */
+    void schedule() {
+        if (mScheduled || mPaused || mTarget == null || mPendingChanges.isEmpty()) {
+            return;
+        }
+        mScheduled = true;
+        postFrame();
+    }
+
+    /**
+     * Pauses or resumes dispatch, pending changes are kept while paused
+     */
+    void setPaused(final boolean paused) {
+        if (mPaused == paused) {
+            return;
+        }
+        mPaused = paused;
+        if (paused) {
+            removeFrame();
+        } else {
+            schedule();
+        }
+    }
+
+    /**
+     * Drops pending changes
+     */
+    void cancel() {
+        mPendingChanges.clear();
+        removeFrame();
+    }
+
+    private void doFrame(final long frameTimeNanos) {
+
+        mScheduled = false;
+        if (mPaused || mTarget == null) {
+            mRecentFrameTimeNanos = 0;
+            return;
+        }
+
+        if (mRecentFrameTimeNanos != 0) {
+            // Interval includes binding of cells which were dispatched on previous frame
+            if (frameTimeNanos - mRecentFrameTimeNanos > LATE_FRAME_INTERVAL_NANOS) {
+                mBatchSize = Math.max(MIN_BATCH_SIZE, mBatchSize / 2);
+            } else {
+                mBatchSize = Math.min(MAX_BATCH_SIZE, mBatchSize + MIN_BATCH_SIZE);
+            }
+        }
+
+        mPendingChanges.dispatchTo(mTarget, mBatchSize, System.nanoTime() + FRAME_BUDGET_NANOS);
+
+        if (mPendingChanges.isEmpty()) {
+            mRecentFrameTimeNanos = 0;
+        } else {
+            mRecentFrameTimeNanos = frameTimeNanos;
+            schedule();
+        }
+    }
+
+    private void postFrame() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            postFrameCallback();
+        } else {
+            mHandler.postDelayed(mFrameRunnable, FRAME_INTERVAL_NANOS / NANOS_PER_MILLI);
+        }
+    }
+
+    private void removeFrame() {
+        mScheduled = false;
+        mRecentFrameTimeNanos = 0;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            removeFrameCallback();
+        } else {
+            mHandler.removeCallbacks(mFrameRunnable);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postFrameCallback() {
+        if (mFrameCallback == null) {
+            mFrameCallback = new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    CellUpdateScheduler.this.doFrame(frameTimeNanos);
+                }
+            };
+        }
+        Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) mFrameCallback);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void removeFrameCallback() {
+        if (mFrameCallback != null) {
+            Choreographer.getInstance().removeFrameCallback((Choreographer.FrameCallback) mFrameCallback);
+        }
+    }
+}
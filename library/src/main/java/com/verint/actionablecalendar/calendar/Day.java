@@ -1,7 +1,6 @@
 package com.verint.actionablecalendar.calendar;
 
 import android.support.annotation.NonNull;
-import android.text.format.DateUtils;
 
 import com.verint.actionablecalendar.calendar.models.EventIndicator;
 
@@ -12,60 +11,110 @@ import java.util.Date;
  * Data for single day item which will be represented as grid item of {@link CalendarWidget}
  * FYI:
  * http://tadtech.blogspot.co.il/2007/03/performance-clone-vs-new.html
+ *
+ * Indicators passed to setters are interned, hence getters return canonical instances of
+ * {@link EventIndicator}, see {@link EventIndicator#of(int, int)}
+ *
  * Created by acheshihin on 8/4/2016.
  */
 public class Day {
 
+    // Storage of all day data, current object is just view over its cell
+    private final MonthDayStore mStore;
+    private final int mIndex;
+
+    // Created lazily, since they are rarely required and too heavy to keep them for each day
     private Date mDate;
     private DayState mDayState;
     private Calendar mCalendar;
 
-    // TODO: Reimplement to production data when will be ready
-    private boolean mShiftEnabled;
-
-    // view for time off icon and badge
-    private EventIndicator mTimeOffItem;
-    // view for auction with bids icon and badge
-    private EventIndicator mAuctionWithBidItem;
-    // view for auction without bids icon and badge
-    private EventIndicator mAuctionNoBidItem;
-    // view for swap request
-    private EventIndicator mSwapRequest;
-    // view for my swap post
-    private EventIndicator mMySwapPost;
-    // view for rest users swap post
-    private EventIndicator mRestUsersSwapPost;
-    // view for my + rest users swap posts
-    private EventIndicator mGeneralSwapPost;
-    // view for more (three dots)
-    private EventIndicator mMore;
-
     public Day(final Date date, @NonNull DayState dayState){
 
         if (date == null){
             throw new IllegalArgumentException("Provided argument can't be null");
         }
 
+        mStore = MonthDayStore.single(EpochDay.fromDate(date), dayState.getType());
+        mIndex = 0;
         mDate = date;
         mDayState = dayState;
-        mCalendar = CalendarUtils.getCalendarFrom(date);
+    }
+
+    /**
+     * Creates day for provided epoch day, {@link Date} object will be created only on demand
+     *
+     * @param epochDay amount of days since 1970-01-01, see {@link EpochDay}
+     * @param dayState {@link DayState}
+     */
+    Day(final int epochDay, @NonNull DayState dayState){
+        mStore = MonthDayStore.single(epochDay, dayState.getType());
+        mIndex = 0;
+        mDayState = dayState;
+    }
+
+    /**
+     * Creates view over cell of {@link MonthDayStore}
+     *
+     * @param store {@link MonthDayStore}
+     * @param index index of cell within store
+     */
+    Day(@NonNull final MonthDayStore store, final int index){
+        mStore = store;
+        mIndex = index;
+    }
+
+    /**
+     * Creates reusable day without any data, see {@link #reset(int, DayState.DayType)}
+     */
+    @NonNull
+    static Day scratch(){
+        return new Day(MonthDayStore.single(0, DayState.DayType.NON_CURRENT_MONTH_DAY), 0);
+    }
+
+    /**
+     * Turns day created by {@link #scratch()} into another day without any data, so single
+     * object can be reused during bind of cells
+     *
+     * @param epochDay amount of days since 1970-01-01, see {@link EpochDay}
+     * @param type {@link DayState.DayType}
+     */
+    void reset(final int epochDay, @NonNull final DayState.DayType type){
+        mStore.resetSingle(epochDay, type);
+        mDate = null;
+        mDayState = null;
+        mCalendar = null;
     }
 
     public Calendar getCalendar(){
+        if (mCalendar == null){
+            mCalendar = CalendarUtils.getCalendarFrom(getDate());
+        }
         return mCalendar;
     }
 
+    /**
+     * Returns amount of days since 1970-01-01 related to current day, see {@link EpochDay}
+     *
+     * @return int, epoch day
+     */
+    public int getEpochDay(){
+        return mStore.getEpochDay(mIndex);
+    }
+
     /**
      * Returns {@link Date} related to current day
      *
      * @return {@link Date}
      */
     public Date getDate(){
+        if (mDate == null){
+            mDate = EpochDay.toDate(getEpochDay());
+        }
         return mDate;
     }
 
     public int getMonthDay(){
-        return mCalendar.get(Calendar.DAY_OF_MONTH);
+        return EpochDay.dayOfMonth(getEpochDay());
     }
 
     /**
@@ -74,9 +123,22 @@ public class Day {
      * @return {@link DayState}
      */
     public DayState getDayState(){
+        if (mDayState == null){
+            mDayState = new StoreDayState(mStore, mIndex);
+        }
         return mDayState;
     }
 
+    /**
+     * Returns type of current day, same as {@code getDayState().getType()} but without creation
+     * of {@link DayState} object
+     *
+     * @return {@link DayState.DayType}
+     */
+    public DayState.DayType getDayType(){
+        return mDayState != null ? mDayState.getType() : mStore.getDayType(mIndex);
+    }
+
     /**
      * Checks if current day instance is actually today and returns result accordingly, true
      * if today, false otherwise
@@ -84,81 +146,136 @@ public class Day {
      * @return true|false
      */
     public boolean isToday(){
-        if (mDate == null){
-            throw new IllegalStateException("Day was not initialized");
-        }
-        return DateUtils.isToday(mDate.getTime());
+        return getEpochDay() == TodayClock.getInstance().today();
     }
 
     public boolean isShiftEnabled(){
-        return mShiftEnabled;
+        return mStore.isShiftEnabled(mIndex);
     }
 
     public void setShiftEnabled(boolean shiftEnabled){
-        mShiftEnabled = shiftEnabled;
+        mStore.setShiftEnabled(mIndex, shiftEnabled);
+    }
+
+    /**
+     * Returns bit mask of assigned indicators, see {@link DayIndicators}
+     */
+    int getIndicatorMask(){
+        return mStore.getIndicatorMask(mIndex);
+    }
+
+    /**
+     * Returns indicator of provided kind, e.g. {@link MonthDayStore#INDICATOR_TIME_OFF}
+     */
+    EventIndicator getIndicator(final int kind){
+        return mStore.getIndicator(kind, mIndex);
+    }
+
+    /**
+     * Returns handle of indicator of provided kind, see {@link EventIndicator#getHandle()}
+     */
+    int getIndicatorHandle(final int kind){
+        return mStore.getIndicatorHandle(kind, mIndex);
+    }
+
+    void setIndicatorHandle(final int kind, final int handle){
+        mStore.setIndicatorHandle(kind, mIndex, handle);
     }
 
+    // view for time off icon and badge
     public EventIndicator getTimeOffItem() {
-        return mTimeOffItem;
+        return mStore.getIndicator(MonthDayStore.INDICATOR_TIME_OFF, mIndex);
     }
 
     public void setTimeOffItem(EventIndicator timeOffItem) {
-        mTimeOffItem = timeOffItem;
+        mStore.setIndicator(MonthDayStore.INDICATOR_TIME_OFF, mIndex, timeOffItem);
     }
 
+    // view for auction with bids icon and badge
     public EventIndicator getAuctionWithBidItem() {
-        return mAuctionWithBidItem;
+        return mStore.getIndicator(MonthDayStore.INDICATOR_AUCTION_WITH_BID, mIndex);
     }
 
     public void setAuctionWithBidItem(EventIndicator auctionWithBidItem) {
-        mAuctionWithBidItem = auctionWithBidItem;
+        mStore.setIndicator(MonthDayStore.INDICATOR_AUCTION_WITH_BID, mIndex, auctionWithBidItem);
     }
 
+    // view for auction without bids icon and badge
     public EventIndicator getAuctionNoBidItem() {
-        return mAuctionNoBidItem;
+        return mStore.getIndicator(MonthDayStore.INDICATOR_AUCTION_NO_BID, mIndex);
     }
 
     public void setAuctionNoBidItem(EventIndicator auctionNoBidItem) {
-        mAuctionNoBidItem = auctionNoBidItem;
+        mStore.setIndicator(MonthDayStore.INDICATOR_AUCTION_NO_BID, mIndex, auctionNoBidItem);
     }
 
+    // view for my swap post
     public EventIndicator getMySwapPost() {
-        return mMySwapPost;
+        return mStore.getIndicator(MonthDayStore.INDICATOR_MY_SWAP_POST, mIndex);
     }
 
     public void setMySwapPost(EventIndicator mySwapPost) {
-        mMySwapPost = mySwapPost;
+        mStore.setIndicator(MonthDayStore.INDICATOR_MY_SWAP_POST, mIndex, mySwapPost);
     }
 
+    // view for swap request
     public EventIndicator getSwapRequest() {
-        return mSwapRequest;
+        return mStore.getIndicator(MonthDayStore.INDICATOR_SWAP_REQUEST, mIndex);
     }
 
     public void setSwapRequest(EventIndicator swapRequest) {
-        mSwapRequest = swapRequest;
+        mStore.setIndicator(MonthDayStore.INDICATOR_SWAP_REQUEST, mIndex, swapRequest);
     }
 
+    // view for more (three dots)
     public EventIndicator getMore() {
-        return mMore;
+        return mStore.getIndicator(MonthDayStore.INDICATOR_MORE, mIndex);
     }
 
     public void setMore(EventIndicator more) {
-        mMore = more;
+        mStore.setIndicator(MonthDayStore.INDICATOR_MORE, mIndex, more);
     }
 
+    // view for rest users swap post
     public EventIndicator getRestUsersSwapPost() {
-        return mRestUsersSwapPost;
+        return mStore.getIndicator(MonthDayStore.INDICATOR_REST_USERS_SWAP_POST, mIndex);
     }
 
     public void setRestUsersSwapPost(EventIndicator restUsersSwapPost) {
-        mRestUsersSwapPost = restUsersSwapPost;
+        mStore.setIndicator(MonthDayStore.INDICATOR_REST_USERS_SWAP_POST, mIndex, restUsersSwapPost);
     }
 
+    // view for my + rest users swap posts
     public EventIndicator getGeneralSwapPost() {
-        return mGeneralSwapPost;
+        return mStore.getIndicator(MonthDayStore.INDICATOR_GENERAL_SWAP_POST, mIndex);
     }
 
     public void setGeneralSwapPost(EventIndicator generalSwapPost) {
-        mGeneralSwapPost = generalSwapPost;
+        mStore.setIndicator(MonthDayStore.INDICATOR_GENERAL_SWAP_POST, mIndex, generalSwapPost);
+    }
+
+    /**
+     * {@link DayState} which reads and writes type directly from/to {@link MonthDayStore}
+     */
+    private static final class StoreDayState extends DayState {
+
+        private final MonthDayStore mStore;
+        private final int mIndex;
+
+        private StoreDayState(@NonNull final MonthDayStore store, final int index){
+            super(store.getDayType(index));
+            mStore = store;
+            mIndex = index;
+        }
+
+        @Override
+        public void setType(@NonNull DayType type) {
+            mStore.setDayType(mIndex, type);
+        }
+
+        @Override
+        public DayType getType() {
+            return mStore.getDayType(mIndex);
+        }
     }
 }
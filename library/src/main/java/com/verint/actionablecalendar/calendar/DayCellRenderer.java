@@ -0,0 +1,240 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.v4.content.ContextCompat;
+import android.util.SparseArray;
+import android.util.TypedValue;
+
+import com.verint.actionablecalendar.calendar.models.EventIndicator;
+import com.verint.mylibrary.R;
+
+/**
+ * Draws content of month day cell directly on canvas, the same as month_grid_item.xml shows
+ * by views: background (today, week end or normal day), day number with selection highlight,
+ * shift bar, two event icons with badges and bottom divider.
+ *
+ * Colors are taken from {@link CalendarStyle}. All cells have the same height, so positions
+ * of all parts are resolved once. Should be used from main thread only, since drawables
+ * are shared between cells.
+ */
+final class DayCellRenderer {
+
+    // Texts of month days, index is day of month
+    private static final String[] MONTH_DAY_TEXTS = new String[32];
+
+    static {
+        for (int i = 0; i < MONTH_DAY_TEXTS.length; i++){
+            MONTH_DAY_TEXTS[i] = String.valueOf(i);
+        }
+    }
+
+    /**
+     * Values of day which are drawn, copied from {@link Day} on bind
+     */
+    static final class Cell {
+
+        // False for days of previous or next month, nothing but background is drawn for them
+        boolean mVisible;
+        boolean mWeekend;
+        boolean mToday;
+        boolean mShiftEnabled;
+        int mMonthDay;
+        @DrawableRes int mFirstIcon;
+        @DrawableRes int mFirstBadge;
+        @DrawableRes int mSecondIcon;
+        @DrawableRes int mSecondBadge;
+
+        void set(@NonNull final Day day){
+
+            final DayState.DayType type = day.getDayType();
+            mVisible = type != DayState.DayType.NON_CURRENT_MONTH_DAY;
+            mWeekend = type == DayState.DayType.CURRENT_MONTH_DAY_WEEKEND;
+            mMonthDay = day.getMonthDay();
+            mToday = mVisible && day.isToday();
+            mShiftEnabled = mVisible && day.isShiftEnabled();
+
+            mFirstIcon = mFirstBadge = mSecondIcon = mSecondBadge = 0;
+            if (!mVisible){
+                return;
+            }
+            final int indicatorMask = day.getIndicatorMask();
+            final int firstIconKind = DayIndicators.getFirstIconKind(indicatorMask);
+            if (firstIconKind != DayIndicators.NONE){
+                final EventIndicator indicator = day.getIndicator(firstIconKind);
+                mFirstIcon = indicator.getIconImage();
+                mFirstBadge = indicator.getBadgeImage();
+            }
+            final int secondIconKind = DayIndicators.getSecondIconKind(indicatorMask, firstIconKind);
+            if (secondIconKind != DayIndicators.NONE){
+                final EventIndicator indicator = day.getIndicator(secondIconKind);
+                mSecondIcon = indicator.getIconImage();
+                mSecondBadge = indicator.getBadgeImage();
+            }
+        }
+    }
+
+    private final Context mContext;
+    private final Resources mResources;
+    private final SparseArray<Drawable> mDrawables = new SparseArray<>();
+
+    private final Paint mFillPaint = new Paint();
+    private final Paint mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    private final int mNormalColor;
+    private final int mWeekendColor;
+    private final int mSelectedColor;
+    private final int mDividerColor;
+    private final Drawable mTodayBackground;
+    private final Drawable mShiftIndicator;
+
+    // Vertical positions relatively to top of cell
+    private final int mContentHeight;
+    private final int mCellHeight;
+    private final int mTextHeight;
+    private final int mTextBaseline;
+    private final int mShiftTop;
+    private final int mFirstIconTop;
+    private final int mSecondIconTop;
+
+    private final int mShiftWidth;
+    private final int mShiftHeight;
+    private final int mIconSize;
+    private final int mIconPadding;
+    private final int mBadgeSize;
+
+    DayCellRenderer(@NonNull final Context context, @NonNull final CalendarStyle style){
+
+        mContext = context;
+        mResources = context.getResources();
+
+        mNormalColor = style.getDayBackgroundColor();
+        mWeekendColor = style.getWeekendBackgroundColor();
+        mSelectedColor = style.getSelectedDayColor();
+        mDividerColor = style.getDividerColor();
+        mTodayBackground = style.newTodayBackground(mResources);
+        mShiftIndicator = ContextCompat.getDrawable(context, R.drawable.shift_indicator_background);
+        mTextPaint.setColor(style.getDayTextColor());
+        mTextPaint.setTextSize(mResources.getDimension(R.dimen.calendar_item_text_size));
+        mTextPaint.setTextAlign(Paint.Align.CENTER);
+
+        mShiftWidth = mResources.getDimensionPixelSize(R.dimen.calendar_item_shift_indicator_width);
+        mShiftHeight = mResources.getDimensionPixelSize(R.dimen.calendar_item_shift_indicator_height);
+        mIconSize = mResources.getDimensionPixelSize(R.dimen.calendar_item_event_view_image_size);
+        mBadgeSize = mResources.getDimensionPixelSize(R.dimen.calendar_item_badge_width);
+        mIconPadding = dpToPx(1);
+        final int iconMargin = mResources.getDimensionPixelSize(R.dimen.calendar_item_event_view_image_margin_vertical);
+
+        // Stack of month_grid_item.xml: day number, shift bar, first icon with margins, second icon
+        final Paint.FontMetricsInt fontMetrics = mTextPaint.getFontMetricsInt();
+        mTextHeight = fontMetrics.bottom - fontMetrics.top;
+        mTextBaseline = -fontMetrics.top;
+        mShiftTop = mTextHeight;
+        mFirstIconTop = mShiftTop + mShiftHeight + iconMargin;
+        mSecondIconTop = mFirstIconTop + mIconSize + iconMargin;
+
+        mContentHeight = mResources.getDimensionPixelSize(R.dimen.calendar_item_min_height);
+        mCellHeight = mContentHeight + dpToPx(1);
+    }
+
+    /**
+     * @return height of cell including divider
+     */
+    int getCellHeight(){
+        return mCellHeight;
+    }
+
+    /**
+     * Draws cell within provided bounds, height of cell is {@link #getCellHeight()}
+     *
+     * @param selected true if day number should be highlighted
+     */
+    void draw(@NonNull final Canvas canvas, @NonNull final Cell cell, final int left, final int top,
+              final int width, final boolean selected){
+
+        final int right = left + width;
+        final int centerX = left + width / 2;
+
+        // Background
+        if (cell.mToday){
+            mTodayBackground.setBounds(left, top, right, top + mContentHeight);
+            mTodayBackground.draw(canvas);
+        } else {
+            mFillPaint.setColor(cell.mWeekend ? mWeekendColor : mNormalColor);
+            canvas.drawRect(left, top, right, top + mContentHeight, mFillPaint);
+        }
+
+        // Divider
+        mFillPaint.setColor(mDividerColor);
+        canvas.drawRect(left, top + mContentHeight, right, top + mCellHeight, mFillPaint);
+
+        if (!cell.mVisible){
+            return;
+        }
+
+        // Day number
+        if (selected){
+            mFillPaint.setColor(mSelectedColor);
+            canvas.drawRect(left, top, right, top + mTextHeight, mFillPaint);
+        }
+        if (cell.mMonthDay >= 0 && cell.mMonthDay < MONTH_DAY_TEXTS.length){
+            canvas.drawText(MONTH_DAY_TEXTS[cell.mMonthDay], centerX, top + mTextBaseline, mTextPaint);
+        }
+
+        // Shift bar
+        if (cell.mShiftEnabled){
+            final int shiftLeft = centerX - mShiftWidth / 2;
+            mShiftIndicator.setBounds(shiftLeft, top + mShiftTop,
+                    shiftLeft + mShiftWidth, top + mShiftTop + mShiftHeight);
+            mShiftIndicator.draw(canvas);
+        }
+
+        // Icons
+        final int iconLeft = centerX - mIconSize / 2;
+        drawIcon(canvas, cell.mFirstIcon, cell.mFirstBadge, iconLeft, top + mFirstIconTop);
+        drawIcon(canvas, cell.mSecondIcon, cell.mSecondBadge, iconLeft, top + mSecondIconTop);
+    }
+
+    /**
+     * Draws icon with badge at its bottom right corner, the same as {@link EventIndicatorView}
+     */
+    private void drawIcon(@NonNull final Canvas canvas, @DrawableRes final int iconResId,
+                          @DrawableRes final int badgeResId, final int left, final int top){
+
+        final Drawable icon = getDrawable(iconResId);
+        if (icon == null){
+            return;
+        }
+        icon.setBounds(left + mIconPadding, top + mIconPadding,
+                left + mIconSize - mIconPadding, top + mIconSize - mIconPadding);
+        icon.draw(canvas);
+
+        final Drawable badge = getDrawable(badgeResId);
+        if (badge != null){
+            badge.setBounds(left + mIconSize - mBadgeSize, top + mIconSize - mBadgeSize,
+                    left + mIconSize, top + mIconSize);
+            badge.draw(canvas);
+        }
+    }
+
+    private Drawable getDrawable(@DrawableRes final int drawableResId){
+        if (drawableResId == 0){
+            return null;
+        }
+        Drawable drawable = mDrawables.get(drawableResId);
+        if (drawable == null){
+            drawable = ContextCompat.getDrawable(mContext, drawableResId);
+            mDrawables.put(drawableResId, drawable);
+        }
+        return drawable;
+    }
+
+    private int dpToPx(final int dp){
+        return (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, mResources.getDisplayMetrics());
+    }
+}
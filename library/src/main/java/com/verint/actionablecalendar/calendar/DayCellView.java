@@ -0,0 +1,55 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.support.annotation.NonNull;
+import android.util.AttributeSet;
+import android.view.View;
+
+/**
+ * Month day cell drawn by single view instead of view hierarchy of month_grid_item.xml,
+ * has fixed height, so measuring doesn't depend on content. Selection is shown
+ * according to {@link #isSelected()}.
+ */
+public class DayCellView extends View {
+
+    private final DayCellRenderer mRenderer;
+    private final DayCellRenderer.Cell mCell = new DayCellRenderer.Cell();
+
+    public DayCellView(Context context) {
+        this(context, new DayCellRenderer(context, CalendarStyle.obtain(context)));
+    }
+
+    public DayCellView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        mRenderer = new DayCellRenderer(context, CalendarStyle.obtain(context));
+    }
+
+    /**
+     * @param renderer renderer shared by cells of the same list
+     */
+    DayCellView(Context context, @NonNull DayCellRenderer renderer) {
+        super(context);
+        mRenderer = renderer;
+    }
+
+    /**
+     * Shows values of provided day, values are copied, so view should be updated
+     * once day is changed
+     */
+    public void setDay(@NonNull final Day day) {
+        mCell.set(day);
+        invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+                mRenderer.getCellHeight());
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        mRenderer.draw(canvas, mCell, 0, 0, getWidth(), isSelected() && mCell.mVisible);
+    }
+}
@@ -0,0 +1,172 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+
+import java.util.List;
+
+/**
+ * Collects changed days together with kinds of their changes, so adapter can be notified
+ * by minimal amount of {@link RecyclerView.Adapter#notifyItemRangeChanged(int, int, Object)}
+ * calls once all data was updated. Days are kept by epoch day, hence collected changes stay valid
+ * while months are added or removed, positions are resolved on dispatch.
+ *
+ * Change kinds are bit masks: bits [0, {@link MonthDayStore#INDICATOR_KIND_COUNT}) are the same
+ * as bits of {@link DayIndicators} and stand for changed indicators, other kinds are
+ * {@link #CHANGE_SHIFT}, {@link #CHANGE_TODAY} and {@link #CHANGE_SELECTION}. The same masks
+ * are used as payloads for partial rebinding of cells.
+ */
+final class DayChangeSet {
+
+    static final int CHANGE_INDICATORS = (1 << MonthDayStore.INDICATOR_KIND_COUNT) - 1;
+    static final int CHANGE_SHIFT = 1 << MonthDayStore.INDICATOR_KIND_COUNT;
+    // Cell became or stopped being today
+    static final int CHANGE_TODAY = CHANGE_SHIFT << 1;
+    // Cell became or stopped being selected
+    static final int CHANGE_SELECTION = CHANGE_SHIFT << 2;
+    // Whole cell should be rebound
+    static final int CHANGE_ALL = -1;
+
+    /**
+     * Adapter which is notified regarding changes
+     */
+    interface Target {
+
+        /**
+         * @return position of cell of provided day within its own month or
+         * {@link RecyclerView#NO_POSITION} if month isn't available
+         */
+        int getPositionByEpochDay(int epochDay);
+
+        void notifyItemRangeChanged(int positionStart, int itemCount, Object payload);
+    }
+
+    // Epoch day -> changes, keys are sorted
+    private SparseIntArray mChanges = new SparseIntArray();
+
+    /**
+     * Records changes of provided day, changes of the same day are merged
+     *
+     * @param epochDay see {@link EpochDay}
+     * @param changes bit mask of changes, nothing is recorded for 0
+     */
+    void add(final int epochDay, final int changes){
+        if (changes != 0){
+            mChanges.put(epochDay, mChanges.get(epochDay) | changes);
+        }
+    }
+
+    /**
+     * Returns union of changes passed as payloads to
+     * {@link RecyclerView.Adapter#onBindViewHolder(RecyclerView.ViewHolder, int, List)}
+     *
+     * @return bit mask of changes or {@link #CHANGE_ALL} if there are no payloads or some
+     * of them are unknown
+     */
+    static int getChanges(@NonNull final List<Object> payloads){
+        if (payloads.isEmpty()){
+            return CHANGE_ALL;
+        }
+        int changes = 0;
+        for (int i = 0, size = payloads.size(); i < size; i++){
+            final Object payload = payloads.get(i);
+            if (!(payload instanceof Integer)){
+                return CHANGE_ALL;
+            }
+            changes |= (Integer) payload;
+        }
+        return changes;
+    }
+
+    boolean isEmpty(){
+        return mChanges.size() == 0;
+    }
+
+    void clear(){
+        mChanges.clear();
+    }
+
+    /**
+     * Notifies target regarding all changes and clears this set
+     *
+     * @see #dispatchTo(Target, int, long)
+     */
+    void dispatchTo(@NonNull final Target target){
+        dispatchTo(target, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Notifies target regarding the earliest days by single range change per run of consecutive
+     * positions and removes them from this set. Days of the same position (e.g. whole month item)
+     * belong to the same run. Union of changes of all cells of the run is passed as {@link Integer}
+     * payload. Days without position are dropped.
+     *
+     * Budget is checked before each new position, so long run is cut once budget is exhausted
+     * and the rest of it stays queued. Days of the same position are never split, at least one
+     * day is removed on each call.
+     *
+     * @param target adapter to notify
+     * @param maxCount amount of days after which dispatch stops
+     * @param deadlineNanos {@link System#nanoTime()} after which dispatch stops
+     * @return amount of removed days
+     */
+    int dispatchTo(@NonNull final Target target, final int maxCount, final long deadlineNanos){
+
+        final int size = mChanges.size();
+        int count = 0;
+        int runStart = RecyclerView.NO_POSITION;
+        int runLength = 0;
+        int runChanges = 0;
+
+        while (count < size){
+            final int position = target.getPositionByEpochDay(mChanges.keyAt(count));
+            if (position != RecyclerView.NO_POSITION){
+                if (runLength > 0 && position == runStart + runLength - 1){
+                    // Same position as the last cell of run
+                    runChanges |= mChanges.valueAt(count);
+                } else {
+                    if (count > 0 && (count >= maxCount || System.nanoTime() > deadlineNanos)){
+                        break;
+                    }
+                    if (runLength > 0 && position == runStart + runLength){
+                        runLength++;
+                        runChanges |= mChanges.valueAt(count);
+                    } else {
+                        if (runLength > 0){
+                            target.notifyItemRangeChanged(runStart, runLength, runChanges);
+                        }
+                        runStart = position;
+                        runLength = 1;
+                        runChanges = mChanges.valueAt(count);
+                    }
+                }
+            }
+            count++;
+        }
+        if (runLength > 0){
+            target.notifyItemRangeChanged(runStart, runLength, runChanges);
+        }
+
+        removeFirst(count);
+        return count;
+    }
+
+    private void removeFirst(final int count){
+        if (count == mChanges.size()){
+            mChanges.clear();
+            return;
+        }
+        if (count == 0){
+            return;
+        }
+        // Each delete shifts the tail, so remaining changes are copied once instead;
+        // keys are already sorted, hence append doesn't search
+        final int size = mChanges.size();
+        final SparseIntArray remaining = new SparseIntArray(size - count);
+        for (int i = count; i < size; i++){
+            remaining.append(mChanges.keyAt(i), mChanges.valueAt(i));
+        }
+        mChanges = remaining;
+    }
+}
@@ -0,0 +1,143 @@
+package com.verint.actionablecalendar.calendar;
+
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_AUCTION_NO_BID;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_AUCTION_WITH_BID;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_GENERAL_SWAP_POST;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_MORE;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_MY_SWAP_POST;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_REST_USERS_SWAP_POST;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_SWAP_REQUEST;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_TIME_OFF;
+
+/**
+ * Operations over bit mask of {@link Day} indicators (see {@link Day#getIndicatorMask()}), so
+ * counting of icons and resolving which icons should be shown on day cell are done by bit tests
+ * instead of chains of null checks
+ */
+final class DayIndicators {
+
+    static final int NONE = -1;
+
+    static final int TIME_OFF = 1 << INDICATOR_TIME_OFF;
+    static final int AUCTION_WITH_BID = 1 << INDICATOR_AUCTION_WITH_BID;
+    static final int AUCTION_NO_BID = 1 << INDICATOR_AUCTION_NO_BID;
+    static final int SWAP_REQUEST = 1 << INDICATOR_SWAP_REQUEST;
+    static final int MY_SWAP_POST = 1 << INDICATOR_MY_SWAP_POST;
+    static final int REST_USERS_SWAP_POST = 1 << INDICATOR_REST_USERS_SWAP_POST;
+    static final int GENERAL_SWAP_POST = 1 << INDICATOR_GENERAL_SWAP_POST;
+    static final int MORE = 1 << INDICATOR_MORE;
+
+    // We count my swap posts and posts of rest users as single icon
+    static final int SWAP_POSTS = MY_SWAP_POST | REST_USERS_SWAP_POST | GENERAL_SWAP_POST;
+    // We count auctions with and without bids as single icon
+    static final int AUCTIONS = AUCTION_WITH_BID | AUCTION_NO_BID;
+    // All indicators that are represented by icons
+    static final int ICONS = TIME_OFF | SWAP_REQUEST | SWAP_POSTS | AUCTIONS;
+    // Indicators which are updated by updateMonths() in case of myRequests flag
+    static final int MY_REQUESTS = TIME_OFF | AUCTIONS | MY_SWAP_POST | SWAP_REQUEST;
+
+    private DayIndicators(){
+        // Hidden constructor
+    }
+
+    /**
+     * Counts amount of icons that (theoretically) should be shown on single day cell, 'More' icon
+     * is not included, see {@link CalendarUtils#getIconTotalForDay(Day)}
+     *
+     * @param mask bit mask of day indicators
+     * @return amount of icons
+     */
+    static int getIconTotal(final int mask){
+
+        int icons = mask & (TIME_OFF | SWAP_REQUEST);
+        if ((mask & SWAP_POSTS) != 0){
+            icons |= MY_SWAP_POST;
+        }
+        if ((mask & AUCTIONS) != 0){
+            icons |= AUCTION_WITH_BID;
+        }
+        return Integer.bitCount(icons);
+    }
+
+    /**
+     * Resolves kind of indicator that should be shown as first icon
+     *
+     * @param mask bit mask of day indicators
+     * @return kind of indicator, e.g. {@link MonthDayStore#INDICATOR_TIME_OFF} or {@link #NONE}
+     */
+    static int getFirstIconKind(final int mask){
+
+        if ((mask & TIME_OFF) != 0){
+            return INDICATOR_TIME_OFF;
+        } else if ((mask & SWAP_REQUEST) != 0){
+            return INDICATOR_SWAP_REQUEST;
+        } else if ((mask & MY_SWAP_POST) != 0){
+            return (mask & REST_USERS_SWAP_POST) != 0 ? INDICATOR_GENERAL_SWAP_POST : INDICATOR_MY_SWAP_POST;
+        } else if ((mask & AUCTION_WITH_BID) != 0){
+            return INDICATOR_AUCTION_WITH_BID;
+        } else if ((mask & AUCTION_NO_BID) != 0){
+            return INDICATOR_AUCTION_NO_BID;
+        } else if ((mask & REST_USERS_SWAP_POST) != 0){
+            return INDICATOR_REST_USERS_SWAP_POST;
+        }
+        return NONE;
+    }
+
+    /**
+     * Resolves kind of indicator that should be shown as second icon: next one by priority after
+     * first icon if there are two icons, or 'More' icon if there are more than two icons
+     *
+     * @param mask bit mask of day indicators
+     * @param firstIconKind kind of first icon, see {@link #getFirstIconKind(int)}
+     * @return kind of indicator, e.g. {@link MonthDayStore#INDICATOR_SWAP_REQUEST} or {@link #NONE}
+     */
+    static int getSecondIconKind(final int mask, final int firstIconKind){
+
+        final int iconTotal = getIconTotal(mask);
+        if (iconTotal < 2 || firstIconKind == NONE){
+            return NONE;
+        }
+
+        if (iconTotal > 2){
+            return (mask & MORE) != 0 ? INDICATOR_MORE : NONE;
+        }
+
+        final int firstIconPriority = getPriority(firstIconKind);
+
+        if (firstIconPriority < 1 && (mask & SWAP_REQUEST) != 0){
+            return INDICATOR_SWAP_REQUEST;
+        }
+        if (firstIconPriority < 2 && (mask & MY_SWAP_POST) != 0){
+            return (mask & REST_USERS_SWAP_POST) != 0 ? INDICATOR_GENERAL_SWAP_POST : INDICATOR_MY_SWAP_POST;
+        }
+        if (firstIconPriority < 3 && (mask & AUCTION_WITH_BID) != 0){
+            return INDICATOR_AUCTION_WITH_BID;
+        }
+        if (firstIconPriority < 4 && (mask & AUCTIONS) == AUCTION_NO_BID){
+            return INDICATOR_AUCTION_NO_BID;
+        }
+        if (firstIconPriority < 5 && (mask & REST_USERS_SWAP_POST) != 0){
+            return INDICATOR_REST_USERS_SWAP_POST;
+        }
+        return NONE;
+    }
+
+    private static int getPriority(final int kind){
+
+        switch (kind){
+            case INDICATOR_TIME_OFF:
+                return 0;
+            case INDICATOR_SWAP_REQUEST:
+                return 1;
+            case INDICATOR_MY_SWAP_POST:
+            case INDICATOR_GENERAL_SWAP_POST:
+                return 2;
+            case INDICATOR_AUCTION_WITH_BID:
+                return 3;
+            case INDICATOR_AUCTION_NO_BID:
+                return 4;
+            default:
+                return 5;
+        }
+    }
+}
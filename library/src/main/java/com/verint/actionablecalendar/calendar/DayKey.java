@@ -0,0 +1,91 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.support.annotation.NonNull;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Deterministic allocation-free key of calendar day packed into single {@code int} as
+ * {@code yyyy * 10000 + mm * 100 + dd} (month is 1-based), e.g. 20161115 for November 15, 2016.
+ * Keys of different days are ordered the same way as days themselves, hence can be used
+ * as sorted keys as well, see {@link DayKeyMap}
+ */
+public final class DayKey {
+
+    private DayKey(){
+        // Hidden constructor
+    }
+
+    /**
+     * Returns key for provided date fields
+     *
+     * @param year e.g. 2016
+     * @param month 0-based month, e.g. {@link Calendar#NOVEMBER}
+     * @param dayOfMonth 1-based day of month
+     * @return packed day key, e.g. 20161115
+     */
+    public static int of(final int year, final int month, final int dayOfMonth){
+        return year * 10000 + (month + 1) * 100 + dayOfMonth;
+    }
+
+    /**
+     * Returns key of provided epoch day, see {@link EpochDay}
+     */
+    public static int ofEpochDay(final int epochDay){
+        return of(EpochDay.year(epochDay), EpochDay.month(epochDay), EpochDay.dayOfMonth(epochDay));
+    }
+
+    /**
+     * Returns key of provided {@link Date} according to local time zone, time of day is not
+     * taken in account
+     */
+    public static int of(@NonNull final Date date){
+        return ofEpochDay(EpochDay.fromDate(date));
+    }
+
+    /**
+     * Returns key of provided {@link Calendar}, only YEAR, MONTH and DAY_OF_MONTH fields
+     * are taken in account
+     */
+    public static int of(@NonNull final Calendar calendar){
+        return of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * Returns year of provided key, e.g. 2016
+     */
+    public static int year(final int dayKey){
+        return dayKey / 10000;
+    }
+
+    /**
+     * Returns 0-based month of provided key, e.g. {@link Calendar#NOVEMBER}
+     */
+    public static int month(final int dayKey){
+        return dayKey / 100 % 100 - 1;
+    }
+
+    /**
+     * Returns 1-based day of month of provided key
+     */
+    public static int dayOfMonth(final int dayKey){
+        return dayKey % 100;
+    }
+
+    /**
+     * Decodes provided key to epoch day, see {@link EpochDay}
+     */
+    public static int toEpochDay(final int dayKey){
+        return EpochDay.of(year(dayKey), month(dayKey), dayOfMonth(dayKey));
+    }
+
+    /**
+     * Decodes provided key to {@link Date} which represents beginning of the day in local time zone
+     */
+    @NonNull
+    public static Date toDate(final int dayKey){
+        return EpochDay.toDate(toEpochDay(dayKey));
+    }
+}
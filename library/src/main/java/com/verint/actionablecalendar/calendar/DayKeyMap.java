@@ -0,0 +1,52 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.support.annotation.NonNull;
+import android.util.SparseArray;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Map of values per calendar day backed by primitive {@code int} {@link DayKey} keys, so
+ * lookups and insertions allocate neither strings nor boxed keys.
+ * Insertion of days in ascending order is appended at the end without shifting of stored items.
+ *
+ * @param <E> type of stored values
+ */
+public class DayKeyMap<E> extends SparseArray<E> {
+
+    public DayKeyMap(){
+        super();
+    }
+
+    public DayKeyMap(final int initialCapacity){
+        super(initialCapacity);
+    }
+
+    public E get(@NonNull final Date date){
+        return get(DayKey.of(date));
+    }
+
+    public E get(@NonNull final Calendar calendar){
+        return get(DayKey.of(calendar));
+    }
+
+    /**
+     * Returns value stored for provided {@link Day} or null if there is no such value
+     */
+    public E get(@NonNull final Day day){
+        return get(DayKey.ofEpochDay(day.getEpochDay()));
+    }
+
+    public void put(@NonNull final Date date, final E value){
+        append(DayKey.of(date), value);
+    }
+
+    public void put(@NonNull final Calendar calendar, final E value){
+        append(DayKey.of(calendar), value);
+    }
+
+    public void remove(@NonNull final Date date){
+        delete(DayKey.of(date));
+    }
+}
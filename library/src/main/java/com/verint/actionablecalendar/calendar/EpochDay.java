@@ -0,0 +1,280 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.support.annotation.NonNull;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Primitive date engine which represents calendar days as {@code int} amount of days since
+ * 1970-01-01 (epoch day) in the local time zone. All calculations are done by closed-form formulas
+ * of proleptic Gregorian calendar, hence no {@link Calendar} cloning or field recomputation
+ * is required for comparison and arithmetic of days.
+ *
+ * Please note: month values are 0-based in the same way as {@link Calendar#MONTH} and day of week
+ * values are the same as {@link Calendar#DAY_OF_WEEK} constants
+ */
+public final class EpochDay {
+
+    public static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int DAYS_PER_ERA = 146097;
+    // Amount of days between 0000-03-01 and 1970-01-01
+    private static final int DAYS_0000_TO_1970 = 719468;
+    // Time zone offsets never exceed 15 hours
+    private static final long MAX_OFFSET_MILLIS = 15L * 60 * 60 * 1000;
+
+    // Cached instead of TimeZone.getDefault() since the last one returns new clone on each call
+    private static volatile TimeZone sTimeZone = TimeZone.getDefault();
+
+    private EpochDay(){
+        // Hidden constructor
+    }
+
+    /**
+     * Returns epoch day for provided date fields
+     *
+     * @param year e.g. 2016
+     * @param month 0-based month, e.g. {@link Calendar#JANUARY}
+     * @param dayOfMonth 1-based day of month
+     * @return amount of days since 1970-01-01
+     */
+    public static int of(final int year, final int month, final int dayOfMonth){
+
+        // Shift year to start from March, so leap day becomes the last day of year
+        final int y = month < 2 ? year - 1 : year;
+        final int era = floorDiv(y, 400);
+        final int yearOfEra = y - era * 400;
+        final int shiftedMonth = month < 2 ? month + 10 : month - 2;
+        final int dayOfYear = (153 * shiftedMonth + 2) / 5 + dayOfMonth - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Returns epoch day of provided {@link Date} according to local time zone
+     *
+     * @param date {@link Date}
+     * @return amount of days since 1970-01-01
+     */
+    public static int fromDate(@NonNull final Date date){
+        return fromMillis(date.getTime());
+    }
+
+    /**
+     * Returns epoch day of provided timestamp according to local time zone
+     *
+     * @param millis UTC timestamp
+     * @return amount of days since 1970-01-01
+     */
+    public static int fromMillis(final long millis){
+        final long localMillis = millis + sTimeZone.getOffset(millis);
+        return (int) floorDiv(localMillis, MILLIS_PER_DAY);
+    }
+
+    /**
+     * Returns epoch day of provided {@link Calendar}, only YEAR, MONTH and DAY_OF_MONTH fields
+     * are taken in account
+     *
+     * @param calendar {@link Calendar}
+     * @return amount of days since 1970-01-01
+     */
+    public static int fromCalendar(@NonNull final Calendar calendar){
+        return of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * Returns epoch day of current moment, please prefer cached {@link TodayClock#today()}
+     *
+     * @return amount of days since 1970-01-01
+     */
+    public static int today(){
+        return fromMillis(System.currentTimeMillis());
+    }
+
+    /**
+     * Creates {@link Date} which represents beginning of provided epoch day in local time zone
+     *
+     * @param epochDay amount of days since 1970-01-01
+     * @return {@link Date}
+     */
+    @NonNull
+    public static Date toDate(final int epochDay){
+        return new Date(toMillis(epochDay, 0));
+    }
+
+    /**
+     * Creates {@link Date} which represents provided epoch day and local time of day
+     *
+     * @param epochDay amount of days since 1970-01-01
+     * @param millisOfDay local time of day in milliseconds
+     * @return {@link Date}
+     */
+    @NonNull
+    public static Date toDate(final int epochDay, final long millisOfDay){
+        return new Date(toMillis(epochDay, millisOfDay));
+    }
+
+    /**
+     * Converts provided epoch day and local time of day to UTC timestamp
+     *
+     * @param epochDay amount of days since 1970-01-01
+     * @param millisOfDay local time of day in milliseconds
+     * @return UTC timestamp
+     */
+    public static long toMillis(final int epochDay, final long millisOfDay){
+        final TimeZone timeZone = sTimeZone;
+        final long localMillis = epochDay * MILLIS_PER_DAY + millisOfDay;
+        // Offsets before and after transition which may happen around local time, raw offset
+        // isn't used since it's current one and may differ from historical offsets
+        final int offsetBefore = timeZone.getOffset(localMillis - MAX_OFFSET_MILLIS);
+        final int offsetAfter = timeZone.getOffset(localMillis + MAX_OFFSET_MILLIS);
+        final long millisAfter = localMillis - offsetAfter;
+        if (offsetBefore == offsetAfter || timeZone.getOffset(millisAfter) == offsetAfter){
+            // No transition or local time is repeated, the later one is taken as Calendar does
+            return millisAfter;
+        }
+        // Local time is valid before transition or falls into gap, in the last case it's moved
+        // forward as Calendar does
+        return localMillis - offsetBefore;
+    }
+
+    /**
+     * Returns local time of day of provided {@link Date} in milliseconds
+     *
+     * @param date {@link Date}
+     * @return milliseconds passed since local midnight
+     */
+    public static long millisOfDay(@NonNull final Date date){
+        final long millis = date.getTime();
+        final long localMillis = millis + sTimeZone.getOffset(millis);
+        return localMillis - floorDiv(localMillis, MILLIS_PER_DAY) * MILLIS_PER_DAY;
+    }
+
+    /**
+     * Returns year of provided epoch day, e.g. 2016
+     */
+    public static int year(final int epochDay){
+        final int yearOfEra = yearOfEra(epochDay);
+        final int y = yearOfEra + era(epochDay) * 400;
+        return shiftedMonth(epochDay) >= 10 ? y + 1 : y;
+    }
+
+    /**
+     * Returns 0-based month of provided epoch day, e.g. {@link Calendar#JANUARY}
+     */
+    public static int month(final int epochDay){
+        final int shiftedMonth = shiftedMonth(epochDay);
+        return shiftedMonth < 10 ? shiftedMonth + 2 : shiftedMonth - 10;
+    }
+
+    /**
+     * Returns 1-based day of month of provided epoch day
+     */
+    public static int dayOfMonth(final int epochDay){
+        final int dayOfYear = dayOfShiftedYear(epochDay);
+        final int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        return dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    }
+
+    /**
+     * Returns day of week of provided epoch day as {@link Calendar#DAY_OF_WEEK} constant
+     */
+    public static int dayOfWeek(final int epochDay){
+        // 1970-01-01 was Thursday
+        return floorMod(epochDay + Calendar.THURSDAY - 1, DAYS_PER_WEEK) + 1;
+    }
+
+    /**
+     * Returns epoch day of first day of month which contains provided epoch day
+     */
+    public static int firstDayOfMonth(final int epochDay){
+        return epochDay - dayOfMonth(epochDay) + 1;
+    }
+
+    /**
+     * Returns epoch day of first day of month which is shifted by provided amount of months
+     * from the month that contains provided epoch day
+     *
+     * @param epochDay amount of days since 1970-01-01
+     * @param months amount of months to add, can be negative
+     * @return epoch day of first day of resulting month
+     */
+    public static int plusMonths(final int epochDay, final int months){
+        return MonthOrdinal.firstEpochDay(MonthOrdinal.ofEpochDay(epochDay) + months);
+    }
+
+    /**
+     * Returns amount of days for provided month
+     *
+     * @param year e.g. 2016
+     * @param month 0-based month, e.g. {@link Calendar#FEBRUARY}
+     * @return amount of days, e.g. 29
+     */
+    public static int lengthOfMonth(final int year, final int month){
+        switch (month){
+            case Calendar.FEBRUARY:
+                return isLeapYear(year) ? 29 : 28;
+            case Calendar.APRIL:
+            case Calendar.JUNE:
+            case Calendar.SEPTEMBER:
+            case Calendar.NOVEMBER:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Checks if provided year is leap year and returns result accordingly
+     *
+     * @param year, desired year
+     * @return true|false
+     */
+    public static boolean isLeapYear(final int year){
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Re-reads default time zone, should be called when device time zone was changed
+     */
+    public static void invalidateTimeZone(){
+        sTimeZone = TimeZone.getDefault();
+    }
+
+    private static int era(final int epochDay){
+        return floorDiv(epochDay + DAYS_0000_TO_1970, DAYS_PER_ERA);
+    }
+
+    private static int yearOfEra(final int epochDay){
+        final int dayOfEra = epochDay + DAYS_0000_TO_1970 - era(epochDay) * DAYS_PER_ERA;
+        return (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    }
+
+    private static int dayOfShiftedYear(final int epochDay){
+        final int dayOfEra = epochDay + DAYS_0000_TO_1970 - era(epochDay) * DAYS_PER_ERA;
+        final int yearOfEra = yearOfEra(epochDay);
+        return dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    }
+
+    private static int shiftedMonth(final int epochDay){
+        return (5 * dayOfShiftedYear(epochDay) + 2) / 153;
+    }
+
+    static int floorDiv(final int x, final int y){
+        final int q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    static long floorDiv(final long x, final long y){
+        final long q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    static int floorMod(final int x, final int y){
+        return x - floorDiv(x, y) * y;
+    }
+}
@@ -0,0 +1,53 @@
+package com.verint.actionablecalendar.calendar;
+
+/**
+ * {@link PrefetchPolicy} with constant trigger distance and amount of months to load,
+ * which doesn't depend on scroll velocity
+ */
+public class FixedPrefetchPolicy implements PrefetchPolicy {
+
+    private final int mLoadTriggerDistance;
+    private final int mMonthsToLoad;
+
+    /**
+     * Creates policy with the trigger distance and the batch size which were used before
+     * {@link AdaptivePrefetchPolicy} became default one
+     */
+    public FixedPrefetchPolicy(){
+        this(CalendarRecyclerView.NUMBER_OF_MONTHS_TO_LOAD * 31 / 2
+                + CalendarRecyclerView.NUMBER_OF_MONTHS_TO_LOAD * 10/*additional days*/,
+                CalendarRecyclerView.NUMBER_OF_MONTHS_TO_LOAD);
+    }
+
+    /**
+     * @param loadTriggerDistance distance in items, see {@link #getLoadTriggerDistance()}
+     * @param monthsToLoad amount of months loaded at once
+     */
+    public FixedPrefetchPolicy(final int loadTriggerDistance, final int monthsToLoad){
+        if (loadTriggerDistance < 0 || monthsToLoad < 1){
+            throw new IllegalArgumentException("Improper prefetch values provided");
+        }
+        mLoadTriggerDistance = loadTriggerDistance;
+        mMonthsToLoad = monthsToLoad;
+    }
+
+    @Override
+    public void onScrolled(int itemDelta, long uptimeMillis) {
+        // Do nothing
+    }
+
+    @Override
+    public void onMonthsLoaded(int monthCount, long latencyMillis) {
+        // Do nothing
+    }
+
+    @Override
+    public int getLoadTriggerDistance() {
+        return mLoadTriggerDistance;
+    }
+
+    @Override
+    public int getMonthsToLoad() {
+        return mMonthsToLoad;
+    }
+}
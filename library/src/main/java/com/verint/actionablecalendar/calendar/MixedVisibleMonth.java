@@ -17,6 +17,9 @@ public class MixedVisibleMonth {
     private VisibleMonth mCurrentMonth;
     private VisibleMonth mNextMonth;
 
+    // Storage of all month days when month was generated by {@link CalendarDataFactory}
+    private MonthDayStore mStore;
+
     private List<String> mWeekDayNameList = new ArrayList<>();
 
     /**
@@ -40,6 +43,25 @@ public class MixedVisibleMonth {
         mNextMonth = nextMonth;
     }
 
+    /**
+     * Creates mixed visible month backed by {@link MonthDayStore}, where cells of previous, current
+     * and next months are followed by cell of month header
+     *
+     * @param store {@link MonthDayStore}
+     * @param previousMonthCount amount of previous month days
+     * @param currentMonthCount amount of current month days
+     */
+    MixedVisibleMonth(@NonNull final MonthDayStore store,
+                      final int previousMonthCount,
+                      final int currentMonthCount){
+
+        this(new VisibleMonth(store, 0, previousMonthCount),
+                new VisibleMonth(store, previousMonthCount, currentMonthCount),
+                new VisibleMonth(store, previousMonthCount + currentMonthCount,
+                        store.size() - 1 - previousMonthCount - currentMonthCount));
+        mStore = store;
+    }
+
     /**
      * Returns list of {@link String} with week day names for specific month
      *
@@ -103,6 +125,14 @@ public class MixedVisibleMonth {
         return mPreviousMonth.size() + mCurrentMonth.size() + mNextMonth.size();
     }
 
+    /**
+     * Returns amount of items of month within calendar list, including month header
+     */
+    int getItemCountWithHeader(){
+        final int currentMonthSize = mCurrentMonth.size();
+        return getCount() + (currentMonthSize > 0 ? 1 : 0);
+    }
+
     /**
      * Returns content of {@code mPreviousMonth}, {@code mCurrentMonth}, {@code mNextMonth}
      * as list of {@link Day} objects
@@ -120,6 +150,26 @@ public class MixedVisibleMonth {
         return dayList;
     }
 
+    /**
+     * Returns {@link Day} of month header item which is related to first day of current month
+     *
+     * @return {@link Day} with {@link DayState.DayType#MONTH_HEADER} type
+     */
+    @NonNull
+    Day getMonthHeader(){
+        if (mStore != null){
+            return mStore.getDay(mStore.size() - 1);
+        }
+        return new Day(mCurrentMonth.getDay(0).getEpochDay(), new DayState(DayState.DayType.MONTH_HEADER));
+    }
+
+    /**
+     * Returns month which is represented by this grid, see {@link MonthOrdinal}
+     */
+    int getMonthOrdinal(){
+        return MonthOrdinal.ofEpochDay(getMonthHeader().getEpochDay());
+    }
+
     @NonNull
     public List<Day> getDayListWithHeaders(){
 
@@ -128,8 +178,7 @@ public class MixedVisibleMonth {
         dayList.addAll(mPreviousMonth.getDayList());
 
         if (mCurrentMonth.size() > 0) {
-            Day firstDay = mCurrentMonth.getDay(0);
-            Day monthHeader = new Day(firstDay.getDate(), new DayState(DayState.DayType.MONTH_HEADER));
+            Day monthHeader = getMonthHeader();
             dayList.add(0, monthHeader);
             dayList.addAll(mCurrentMonth.getDayList());
         }
@@ -0,0 +1,215 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.content.ContextCompat;
+import android.view.GestureDetector;
+import android.view.HapticFeedbackConstants;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.View;
+
+import com.verint.actionablecalendar.utils.CalendarLocaleData;
+import com.verint.mylibrary.R;
+
+import java.util.Locale;
+
+/**
+ * Whole month drawn by single view: header with month name followed by all cells of month grid,
+ * the same as {@link CalendarRecyclerViewAdapter} shows by separate items. Touches are mapped
+ * to cells, clicks on days of previous or next month are ignored.
+ *
+ * Cells are drawn by {@link DayCellRenderer} shared by all months of the same list.
+ */
+class MonthCanvasView extends View {
+
+    private static final int DAYS_PER_WEEK = 7;
+    // Result of hit test which didn't find day
+    private static final int NO_DAY = Integer.MIN_VALUE;
+
+    /**
+     * Receives clicks on days of month
+     */
+    interface OnDayClickListener {
+
+        void onDayClick(@NonNull MonthCanvasView view, int epochDay);
+
+        void onDayLongClick(@NonNull MonthCanvasView view, int epochDay);
+    }
+
+    private final DayCellRenderer mRenderer;
+
+    // Header, the same as month_header_item.xml
+    private final Drawable mHeaderBackground;
+    private final Paint mHeaderTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final int mHeaderPaddingSide;
+    private final int mHeaderHeight;
+    private final int mHeaderBaseline;
+    private String mTitle = "";
+
+    // Grid cells, amount of used cells depends on month
+    private final DayCellRenderer.Cell[] mCells;
+    private int[] mEpochDays;
+    private int mCellCount;
+    private int mSelectedEpochDay = CalendarRecyclerViewAdapter.NO_SELECTED_DAY;
+
+    private final GestureDetector mGestureDetector;
+    private OnDayClickListener mOnDayClickListener;
+
+    /**
+     * @param renderer renderer shared by months of the same list
+     */
+    MonthCanvasView(Context context, @NonNull DayCellRenderer renderer) {
+        super(context);
+        mRenderer = renderer;
+
+        mCells = new DayCellRenderer.Cell[DAYS_PER_WEEK * 6];
+        for (int i = 0; i < mCells.length; i++) {
+            mCells[i] = new DayCellRenderer.Cell();
+        }
+
+        mHeaderBackground = ContextCompat.getDrawable(context, R.drawable.calendar_item_date_title_background);
+        mHeaderTextPaint.setColor(ContextCompat.getColor(context, R.color.calendar_item_date_title_text_color));
+        mHeaderTextPaint.setTextSize(getResources().getDimension(R.dimen.calendar_item_text_size));
+        mHeaderPaddingSide = getResources().getDimensionPixelSize(R.dimen.calendar_item_date_title_padding_side);
+        final int paddingTopBottom = getResources().getDimensionPixelSize(R.dimen.calendar_item_date_title_padding_top_bottom);
+        final Paint.FontMetricsInt fontMetrics = mHeaderTextPaint.getFontMetricsInt();
+        mHeaderHeight = fontMetrics.bottom - fontMetrics.top + paddingTopBottom * 2;
+        mHeaderBaseline = paddingTopBottom - fontMetrics.top;
+
+        mGestureDetector = new GestureDetector(context, new GestureDetector.SimpleOnGestureListener() {
+
+            @Override
+            public boolean onDown(MotionEvent e) {
+                // Otherwise the rest of gesture isn't delivered
+                return findEpochDay(e.getX(), e.getY()) != NO_DAY;
+            }
+
+            @Override
+            public boolean onSingleTapUp(MotionEvent e) {
+                final int epochDay = findEpochDay(e.getX(), e.getY());
+                if (epochDay == NO_DAY || mOnDayClickListener == null) {
+                    return false;
+                }
+                playSoundEffect(SoundEffectConstants.CLICK);
+                mOnDayClickListener.onDayClick(MonthCanvasView.this, epochDay);
+                return true;
+            }
+
+            @Override
+            public void onLongPress(MotionEvent e) {
+                final int epochDay = findEpochDay(e.getX(), e.getY());
+                if (epochDay != NO_DAY && mOnDayClickListener != null) {
+                    performHapticFeedback(HapticFeedbackConstants.LONG_PRESS);
+                    mOnDayClickListener.onDayLongClick(MonthCanvasView.this, epochDay);
+                }
+            }
+        });
+    }
+
+    void setOnDayClickListener(@Nullable final OnDayClickListener listener) {
+        mOnDayClickListener = listener;
+    }
+
+    /**
+     * Specifies month, cells should be filled by {@link #setDay(int, Day)} afterwards
+     *
+     * @param monthOrdinal month, see {@link MonthOrdinal}
+     * @param template layout of month grid
+     */
+    void setMonth(final int monthOrdinal, @NonNull final MonthTemplate template) {
+        final int epochDay = MonthOrdinal.firstEpochDay(monthOrdinal);
+        final String monthName = CalendarLocaleData.getDefault().getMonthName(EpochDay.month(epochDay));
+        mTitle = String.format(Locale.getDefault(), "%s %d", monthName, EpochDay.year(epochDay));
+
+        // Last value of template is month header
+        final int cellCount = template.mEpochDays.length - 1;
+        if (cellCount != mCellCount) {
+            mCellCount = cellCount;
+            requestLayout();
+        }
+        mEpochDays = template.mEpochDays;
+        invalidate();
+    }
+
+    /**
+     * Copies values of provided day to cell, see {@link #setMonth(int, MonthTemplate)}
+     */
+    void setDay(final int cellIndex, @NonNull final Day day) {
+        mCells[cellIndex].set(day);
+        invalidate();
+    }
+
+    int getCellCount() {
+        return mCellCount;
+    }
+
+    /**
+     * Highlights provided day if it belongs to this month
+     *
+     * @param epochDay see {@link EpochDay}
+     */
+    void setSelectedEpochDay(final int epochDay) {
+        if (mSelectedEpochDay != epochDay) {
+            mSelectedEpochDay = epochDay;
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        final int rowCount = mCellCount / DAYS_PER_WEEK;
+        setMeasuredDimension(getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+                mHeaderHeight + rowCount * mRenderer.getCellHeight());
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+
+        final int width = getWidth();
+
+        // Header
+        mHeaderBackground.setBounds(0, 0, width, mHeaderHeight);
+        mHeaderBackground.draw(canvas);
+        canvas.drawText(mTitle, mHeaderPaddingSide, mHeaderBaseline, mHeaderTextPaint);
+
+        // Grid, cells take equal parts of width the same as grid layout spans
+        final int cellHeight = mRenderer.getCellHeight();
+        for (int i = 0; i < mCellCount; i++) {
+            final int column = i % DAYS_PER_WEEK;
+            final int left = width * column / DAYS_PER_WEEK;
+            final int right = width * (column + 1) / DAYS_PER_WEEK;
+            final int top = mHeaderHeight + (i / DAYS_PER_WEEK) * cellHeight;
+            final DayCellRenderer.Cell cell = mCells[i];
+            mRenderer.draw(canvas, cell, left, top, right - left,
+                    cell.mVisible && mEpochDays[i] == mSelectedEpochDay);
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        return mGestureDetector.onTouchEvent(event) || super.onTouchEvent(event);
+    }
+
+    /**
+     * Maps point to day of month
+     *
+     * @return epoch day or {@link #NO_DAY} if point isn't within current month day
+     */
+    private int findEpochDay(final float x, final float y) {
+        if (y < mHeaderHeight || x < 0 || x >= getWidth()) {
+            return NO_DAY;
+        }
+        final int row = (int) (y - mHeaderHeight) / mRenderer.getCellHeight();
+        final int column = (int) (x * DAYS_PER_WEEK / getWidth());
+        final int cellIndex = row * DAYS_PER_WEEK + column;
+        if (cellIndex >= mCellCount || !mCells[cellIndex].mVisible) {
+            return NO_DAY;
+        }
+        return mEpochDays[cellIndex];
+    }
+}
@@ -0,0 +1,316 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Storage of months of {@link CalendarRecyclerViewAdapter} as deque of per-month chunks of items
+ * in chronological order, together with month ordinal, start position and first grid day of each
+ * month. Start positions are kept as keys relative to arbitrary origin, so prepend and removal
+ * of months from the front don't require update of all other entries. Arrays have headroom
+ * on both sides, hence prepend and append are amortized O(1) and don't move loaded items, lookup
+ * of month by position or by ordinal is binary search and position of day is arithmetic.
+ *
+ * Each month occupies header item followed by all cells of its grid.
+ */
+final class MonthChunkList {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private MixedVisibleMonth[] mMonths = new MixedVisibleMonth[INITIAL_CAPACITY];
+    private Day[][] mChunks = new Day[INITIAL_CAPACITY][];
+    private int[] mOrdinals = new int[INITIAL_CAPACITY];
+    private int[] mStartKeys = new int[INITIAL_CAPACITY];
+    private int[] mFirstGridDays = new int[INITIAL_CAPACITY];
+
+    // Months occupy [mHead, mHead + mSize) range of arrays
+    private int mHead = INITIAL_CAPACITY / 2;
+    private int mSize;
+    // Key of position right after the last month
+    private int mEndKey;
+    // Index of month of recent item lookup, neighbour items are usually requested one by one
+    private int mRecentIndex;
+
+    private final List<MixedVisibleMonth> mMonthList = new MonthList();
+
+    int size(){
+        return mSize;
+    }
+
+    void clear(){
+        release(mHead, mSize);
+        mHead = mOrdinals.length / 2;
+        mSize = 0;
+        mEndKey = 0;
+        mRecentIndex = 0;
+    }
+
+    /**
+     * Adds month after the last one
+     *
+     * @return amount of added items including header
+     */
+    int append(@NonNull final MixedVisibleMonth month){
+        if (mHead + mSize == mOrdinals.length){
+            grow();
+        }
+        final int index = mHead + mSize;
+        final Day[] chunk = toChunk(month);
+        set(index, month, chunk);
+        mStartKeys[index] = mEndKey;
+        mEndKey += chunk.length;
+        mSize++;
+        return chunk.length;
+    }
+
+    /**
+     * Adds month before the first one
+     *
+     * @return amount of added items including header
+     */
+    int prepend(@NonNull final MixedVisibleMonth month){
+        if (mSize == 0){
+            return append(month);
+        }
+        if (mHead == 0){
+            grow();
+        }
+        final int firstKey = mStartKeys[mHead];
+        final Day[] chunk = toChunk(month);
+        mHead--;
+        set(mHead, month, chunk);
+        mStartKeys[mHead] = firstKey - chunk.length;
+        mSize++;
+        mRecentIndex++;
+        return chunk.length;
+    }
+
+    /**
+     * Removes provided amount of months from the beginning
+     */
+    void removeFirst(final int count){
+        release(mHead, count);
+        mHead += count;
+        mSize -= count;
+        mRecentIndex = 0;
+        if (mSize == 0){
+            clear();
+        }
+    }
+
+    /**
+     * Removes provided amount of months from the end
+     */
+    void removeLast(final int count){
+        mSize -= count;
+        release(mHead + mSize, count);
+        mRecentIndex = 0;
+        if (mSize == 0){
+            clear();
+        } else {
+            mEndKey = mStartKeys[mHead + mSize];
+        }
+    }
+
+    /**
+     * Returns item at provided position
+     *
+     * @param position position within [0, {@link #getItemCount()})
+     */
+    Day getDay(final int position){
+        int monthIndex = mRecentIndex;
+        final int key = mStartKeys[mHead] + position;
+        if (monthIndex >= mSize || key < mStartKeys[mHead + monthIndex]
+                || key >= (monthIndex + 1 < mSize ? mStartKeys[mHead + monthIndex + 1] : mEndKey)){
+            monthIndex = indexOfPosition(position);
+            if (monthIndex < 0){
+                throw new IndexOutOfBoundsException("Invalid position " + position
+                        + ", size is " + getItemCount());
+            }
+            mRecentIndex = monthIndex;
+        }
+        return mChunks[mHead + monthIndex][key - mStartKeys[mHead + monthIndex]];
+    }
+
+    MixedVisibleMonth getMonth(final int monthIndex){
+        return mMonths[mHead + monthIndex];
+    }
+
+    /**
+     * Returns read-only list view of months, which reflects further changes
+     */
+    @NonNull
+    List<MixedVisibleMonth> asMonthList(){
+        return mMonthList;
+    }
+
+    /**
+     * Returns total amount of items of all months
+     */
+    int getItemCount(){
+        return mSize == 0 ? 0 : mEndKey - mStartKeys[mHead];
+    }
+
+    /**
+     * Returns amount of items of month at provided index, including header
+     */
+    int getItemCount(final int monthIndex){
+        final int index = mHead + monthIndex;
+        final int nextKey = monthIndex + 1 < mSize ? mStartKeys[index + 1] : mEndKey;
+        return nextKey - mStartKeys[index];
+    }
+
+    /**
+     * Returns position of header of month at provided index
+     */
+    int getStartPosition(final int monthIndex){
+        return mStartKeys[mHead + monthIndex] - mStartKeys[mHead];
+    }
+
+    int getMonthOrdinal(final int monthIndex){
+        return mOrdinals[mHead + monthIndex];
+    }
+
+    /**
+     * Returns index of month which contains item at provided position
+     *
+     * @return index of month or -1 if position is out of range
+     */
+    int indexOfPosition(final int position){
+        if (mSize == 0 || position < 0 || position >= getItemCount()){
+            return -1;
+        }
+        final int key = mStartKeys[mHead] + position;
+        int low = mHead;
+        int high = mHead + mSize - 1;
+        while (low < high){
+            final int middle = (low + high + 1) >>> 1;
+            if (mStartKeys[middle] <= key){
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low - mHead;
+    }
+
+    /**
+     * Returns index of provided month
+     *
+     * @param monthOrdinal month, see {@link MonthOrdinal}
+     * @return index of month or -1 if there is no such month
+     */
+    int indexOfMonth(final int monthOrdinal){
+        int low = mHead;
+        int high = mHead + mSize - 1;
+        while (low <= high){
+            final int middle = (low + high) >>> 1;
+            final int ordinal = mOrdinals[middle];
+            if (ordinal < monthOrdinal){
+                low = middle + 1;
+            } else if (ordinal > monthOrdinal){
+                high = middle - 1;
+            } else {
+                return middle - mHead;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns position of header of provided month
+     *
+     * @param monthOrdinal month, see {@link MonthOrdinal}
+     * @return position or {@link RecyclerView#NO_POSITION} if there is no such month
+     */
+    int getMonthHeaderPosition(final int monthOrdinal){
+        final int monthIndex = indexOfMonth(monthOrdinal);
+        return monthIndex >= 0 ? getStartPosition(monthIndex) : RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Returns position of provided day within grid of its own month
+     *
+     * @param epochDay amount of days since 1970-01-01, see {@link EpochDay}
+     * @return position or {@link RecyclerView#NO_POSITION} if month of day isn't indexed
+     */
+    int getDayPosition(final int epochDay){
+        final int monthIndex = indexOfMonth(MonthOrdinal.ofEpochDay(epochDay));
+        if (monthIndex < 0){
+            return RecyclerView.NO_POSITION;
+        }
+        // Header precedes first cell of grid
+        return getStartPosition(monthIndex) + 1 + (epochDay - mFirstGridDays[mHead + monthIndex]);
+    }
+
+    @NonNull
+    private static Day[] toChunk(@NonNull final MixedVisibleMonth month){
+        final List<Day> monthDays = month.getDayListWithHeaders();
+        return monthDays.toArray(new Day[monthDays.size()]);
+    }
+
+    private void set(final int index, final MixedVisibleMonth month, final Day[] chunk){
+        mMonths[index] = month;
+        mChunks[index] = chunk;
+        mOrdinals[index] = month.getMonthOrdinal();
+        // Header precedes first cell of grid
+        mFirstGridDays[index] = chunk.length > 1 ? chunk[1].getEpochDay() : 0;
+    }
+
+    /**
+     * Drops references to removed months, so they can be collected
+     */
+    private void release(final int from, final int count){
+        for (int i = from; i < from + count; i++){
+            mMonths[i] = null;
+            mChunks[i] = null;
+        }
+    }
+
+    /**
+     * Doubles capacity and centers months within arrays, so both sides get headroom
+     */
+    private void grow(){
+        final int capacity = mOrdinals.length * 2;
+        final int head = (capacity - mSize) / 2;
+
+        final MixedVisibleMonth[] months = new MixedVisibleMonth[capacity];
+        final Day[][] chunks = new Day[capacity][];
+        System.arraycopy(mMonths, mHead, months, head, mSize);
+        System.arraycopy(mChunks, mHead, chunks, head, mSize);
+        mMonths = months;
+        mChunks = chunks;
+
+        final int[] ordinals = new int[capacity];
+        final int[] startKeys = new int[capacity];
+        final int[] firstGridDays = new int[capacity];
+        System.arraycopy(mOrdinals, mHead, ordinals, head, mSize);
+        System.arraycopy(mStartKeys, mHead, startKeys, head, mSize);
+        System.arraycopy(mFirstGridDays, mHead, firstGridDays, head, mSize);
+
+        mOrdinals = ordinals;
+        mStartKeys = startKeys;
+        mFirstGridDays = firstGridDays;
+        mHead = head;
+    }
+
+    private final class MonthList extends AbstractList<MixedVisibleMonth> implements RandomAccess {
+
+        @Override
+        public MixedVisibleMonth get(final int location){
+            if (location < 0 || location >= mSize){
+                throw new IndexOutOfBoundsException("Invalid index " + location + ", size is " + mSize);
+            }
+            return mMonths[mHead + location];
+        }
+
+        @Override
+        public int size(){
+            return mSize;
+        }
+    }
+}
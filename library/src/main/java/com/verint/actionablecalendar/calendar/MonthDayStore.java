@@ -0,0 +1,186 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.support.annotation.NonNull;
+
+import com.verint.actionablecalendar.calendar.models.EventIndicator;
+
+/**
+ * Compact struct-of-arrays storage of all cells of single month grid: epoch days are kept in
+ * primitive {@code int[]}, {@link DayState.DayType} in {@code byte[]}, shift flags as bits,
+ * presence of indicators as bit mask per cell (see {@link DayIndicators}) and each kind of
+ * indicator in its own column of {@link EventIndicator} handles which is allocated only once first
+ * indicator of such kind was assigned. {@link Day} objects are lightweight views over this storage
+ * which are created on demand only when they are requested by API.
+ *
+ * Last cell of month storage is reserved for month header.
+ */
+final class MonthDayStore {
+
+    static final int INDICATOR_TIME_OFF = 0;
+    static final int INDICATOR_AUCTION_WITH_BID = 1;
+    static final int INDICATOR_AUCTION_NO_BID = 2;
+    static final int INDICATOR_SWAP_REQUEST = 3;
+    static final int INDICATOR_MY_SWAP_POST = 4;
+    static final int INDICATOR_REST_USERS_SWAP_POST = 5;
+    static final int INDICATOR_GENERAL_SWAP_POST = 6;
+    static final int INDICATOR_MORE = 7;
+    static final int INDICATOR_KIND_COUNT = 8;
+
+    // Bits of long are used for per cell flags
+    static final int MAX_CELL_COUNT = 64;
+
+    // Cached, since values() clones array on each call
+    static final DayState.DayType[] DAY_TYPES = DayState.DayType.values();
+
+    private final int[] mEpochDays;
+    private byte[] mDayTypes;
+    // Day types array belongs to MonthTemplate, hence it's copied before first modification
+    private boolean mDayTypesShared;
+    // Handles of canonical indicators, see EventIndicator#getHandle()
+    private final short[][] mIndicators = new short[INDICATOR_KIND_COUNT][];
+    // Allocated once first indicator was assigned
+    private int[] mIndicatorMasks;
+    private long mShiftMask;
+
+    // Lazily created views, kept in order to return same Day object for same cell
+    private Day[] mViews;
+
+    /**
+     * @param epochDays epoch day of each cell, see {@link EpochDay}
+     * @param dayTypes {@link DayState.DayType} ordinal of each cell
+     */
+    MonthDayStore(@NonNull final int[] epochDays, @NonNull final byte[] dayTypes){
+
+        if (epochDays.length != dayTypes.length || epochDays.length > MAX_CELL_COUNT){
+            throw new IllegalArgumentException("Provided arrays are of improper size");
+        }
+        mEpochDays = epochDays;
+        mDayTypes = dayTypes;
+    }
+
+    /**
+     * Creates storage on top of shared immutable {@link MonthTemplate}
+     */
+    MonthDayStore(@NonNull final MonthTemplate template){
+        this(template.mEpochDays, template.mDayTypes);
+        mDayTypesShared = true;
+    }
+
+    /**
+     * Creates storage for single standalone day
+     */
+    @NonNull
+    static MonthDayStore single(final int epochDay, @NonNull final DayState.DayType type){
+        return new MonthDayStore(new int[]{epochDay}, new byte[]{(byte) type.ordinal()});
+    }
+
+    int size(){
+        return mEpochDays.length;
+    }
+
+    int getEpochDay(final int index){
+        return mEpochDays[index];
+    }
+
+    @NonNull
+    DayState.DayType getDayType(final int index){
+        return DAY_TYPES[mDayTypes[index]];
+    }
+
+    void setDayType(final int index, @NonNull final DayState.DayType type){
+        if (mDayTypesShared){
+            mDayTypes = mDayTypes.clone();
+            mDayTypesShared = false;
+        }
+        mDayTypes[index] = (byte) type.ordinal();
+    }
+
+    boolean isShiftEnabled(final int index){
+        return (mShiftMask & (1L << index)) != 0;
+    }
+
+    void setShiftEnabled(final int index, final boolean shiftEnabled){
+        if (shiftEnabled){
+            mShiftMask |= 1L << index;
+        } else {
+            mShiftMask &= ~(1L << index);
+        }
+    }
+
+    EventIndicator getIndicator(final int kind, final int index){
+        return EventIndicator.fromHandle(getIndicatorHandle(kind, index));
+    }
+
+    void setIndicator(final int kind, final int index, final EventIndicator indicator){
+        setIndicatorHandle(kind, index, EventIndicator.handleOf(indicator));
+    }
+
+    /**
+     * Returns handle of indicator of provided kind or {@link EventIndicator#NO_HANDLE}
+     */
+    int getIndicatorHandle(final int kind, final int index){
+        final short[] column = mIndicators[kind];
+        return column != null ? column[index] : EventIndicator.NO_HANDLE;
+    }
+
+    void setIndicatorHandle(final int kind, final int index, final int handle){
+        short[] column = mIndicators[kind];
+        if (column == null){
+            if (handle == EventIndicator.NO_HANDLE){
+                return;
+            }
+            column = new short[mEpochDays.length];
+            mIndicators[kind] = column;
+        }
+        column[index] = (short) handle;
+
+        if (mIndicatorMasks == null){
+            mIndicatorMasks = new int[mEpochDays.length];
+        }
+        if (handle != EventIndicator.NO_HANDLE){
+            mIndicatorMasks[index] |= 1 << kind;
+        } else {
+            mIndicatorMasks[index] &= ~(1 << kind);
+        }
+    }
+
+    /**
+     * Returns bit mask of assigned indicators of provided cell, where bit number is kind
+     * of indicator, e.g. {@link #INDICATOR_TIME_OFF}
+     */
+    int getIndicatorMask(final int index){
+        return mIndicatorMasks != null ? mIndicatorMasks[index] : 0;
+    }
+
+    /**
+     * Reuses storage of single standalone day for another day, all its data is cleared
+     */
+    void resetSingle(final int epochDay, @NonNull final DayState.DayType type){
+        if (mEpochDays.length != 1 || mDayTypesShared){
+            throw new IllegalStateException("Only standalone day storage can be reset");
+        }
+        mEpochDays[0] = epochDay;
+        mDayTypes[0] = (byte) type.ordinal();
+        mShiftMask = 0;
+        mIndicatorMasks = null;
+        for (int kind = 0; kind < INDICATOR_KIND_COUNT; kind++){
+            mIndicators[kind] = null;
+        }
+    }
+
+    /**
+     * Returns {@link Day} view for provided cell, same object is returned for same cell
+     */
+    @NonNull
+    Day getDay(final int index){
+        if (mViews == null){
+            mViews = new Day[mEpochDays.length];
+        }
+        Day day = mViews[index];
+        if (day == null){
+            day = new Day(this, index);
+            mViews[index] = day;
+        }
+        return day;
+    }
+}
@@ -1,6 +1,6 @@
 package com.verint.actionablecalendar.calendar;
 
-import android.graphics.Color;
+import android.content.Context;
 import android.support.annotation.LayoutRes;
 import android.support.annotation.NonNull;
 import android.view.LayoutInflater;
@@ -29,6 +29,8 @@ public class MonthGridAdapter extends BaseAdapter {
 
     private int mGridItemLayoutId;
     private int mSelectedPosition = -1;
+    // Resolved from theme once first view is created
+    private CalendarStyle mStyle;
 
     /**
      * Constructor, receives resource layout id for item and data to represent
@@ -95,7 +97,7 @@ public class MonthGridAdapter extends BaseAdapter {
             convertView = LayoutInflater.from(parent.getContext())
                     .inflate(R.layout.month_grid_item, parent, false);
             // Create view holder and store references to widgets
-            viewHolder = new MonthGridViewHolder(convertView);
+            viewHolder = new MonthGridViewHolder(convertView, this);
             // Store tag into view for further usage
             convertView.setTag(viewHolder);
 
@@ -104,12 +106,25 @@ public class MonthGridAdapter extends BaseAdapter {
             viewHolder = (MonthGridViewHolder) convertView.getTag();
         }
 
-        viewHolder.bind(mDayList.get(position), position, mListener);
+        viewHolder.bind(mDayList.get(position), position);
         return convertView;
     }
 
+    @NonNull
+    private CalendarStyle getStyle(@NonNull final Context context){
+        if (mStyle == null){
+            mStyle = CalendarStyle.obtain(context);
+        }
+        return mStyle;
+    }
+
     // --------------------------------------------------------------------------------------------
-    protected static class MonthGridViewHolder {
+    protected static class MonthGridViewHolder implements View.OnClickListener, View.OnLongClickListener {
+
+        private final MonthGridAdapter mAdapter;
+        private final CalendarStyle.CellBackground mBackground;
+        // Position of recent bind, day is resolved by it on click
+        private int mPosition;
 
         protected View mRootView;
         protected TextView mMonthDay;
@@ -117,19 +132,57 @@ public class MonthGridAdapter extends BaseAdapter {
         protected EventIndicatorView mDayIconFirstLevelView;
         protected EventIndicatorView mDayIconSecondLevelView;
 
+        // Set by deprecated bind only, clicks are dispatched to them if there is no adapter
+        private CalendarCallbacks mListener;
+        private Day mDay;
+
+        protected MonthGridViewHolder(@NonNull final View view, @NonNull final MonthGridAdapter adapter){
+            this(view, adapter, adapter.getStyle(view.getContext()));
+        }
+
+        /**
+         * @deprecated use {@link #MonthGridViewHolder(View, MonthGridAdapter)} which shares style
+         * of adapter, holder created by this constructor resolves style from theme on its own
+         */
+        @Deprecated
         protected MonthGridViewHolder(@NonNull final View view){
+            this(view, null, CalendarStyle.obtain(view.getContext()));
+        }
+
+        private MonthGridViewHolder(@NonNull final View view, final MonthGridAdapter adapter,
+                                    @NonNull final CalendarStyle style){
 
+            mAdapter = adapter;
             mRootView = view;
             mMonthDay = (TextView) view.findViewById(R.id.tvMonthGridItemMonthDay);
             mShiftIndicator = view.findViewById(R.id.vMonthGridItemShiftIndicator);
             mDayIconFirstLevelView = (EventIndicatorView) view.findViewById(R.id.abvCalendarDayIconFirstLevelView);
             mDayIconSecondLevelView = (EventIndicatorView) view.findViewById(R.id.abvCalendarDayIconSecondLevelView);
+
+            mBackground = new CalendarStyle.CellBackground(style, view.getResources());
+            style.applyTo(mMonthDay, view.findViewById(R.id.vMonthGridItemDivider));
+
+            // The same listeners for all binds
+            mRootView.setOnClickListener(this);
+            mRootView.setOnLongClickListener(this);
         }
 
+        /**
+         * @deprecated use {@link #bind(Day, int)}, clicks are dispatched to listener of adapter
+         */
+        @Deprecated
         protected void bind(@NonNull final Day day, final int position,
-                         final CalendarCallbacks listener){
+                            final CalendarCallbacks listener){
+            mDay = day;
+            mListener = listener;
+            bind(day, position);
+        }
 
-            switch (day.getDayState().getType()){
+        protected void bind(@NonNull final Day day, final int position){
+
+            mPosition = position;
+
+            switch (day.getDayType()){
 
                 case CURRENT_MONTH_DAY_NORMAL: // Current month day
 
@@ -140,35 +193,10 @@ public class MonthGridAdapter extends BaseAdapter {
 
                     mMonthDay.setText(String.valueOf(day.getMonthDay()));
 
-                    if (!CalendarUtils.isToday(day)){ // Not today
-                        mRootView.setBackgroundColor(Color.WHITE);
-                    } else { // Today
-                        mRootView.setBackgroundResource(R.drawable.calendar_item_current_day_background);
-                    }
-
-                    // Specify click listeners
-                    mRootView.setOnClickListener(new View.OnClickListener() {
-
-                        @Override
-                        public void onClick(View v) {
-
-                            if (listener != null){
-                                listener.onCalendarItemClick(day, position);
-                            }
-                        }
-                    });
+                    mBackground.bind(mRootView, CalendarUtils.isToday(day), false);
 
-                    mRootView.setOnLongClickListener(new View.OnLongClickListener() {
-
-                        @Override
-                        public boolean onLongClick(View v) {
-
-                            if (listener != null){
-                                listener.onCalendarItemLongClick(day, position);
-                            }
-                            return true;
-                        }
-                    });
+                    // Enable click listeners
+                    setClickable(true);
 
                     break;
 
@@ -182,35 +210,10 @@ public class MonthGridAdapter extends BaseAdapter {
                     // Change day value text color
                     mMonthDay.setText(String.valueOf(day.getMonthDay()));
 
-                    if (!CalendarUtils.isToday(day)){ // Not today
-                        mRootView.setBackgroundColor(Color.parseColor("#ebebeb"));
-                    } else { // Today
-                        mRootView.setBackgroundResource(R.drawable.calendar_item_current_day_background);
-                    }
-
-                    // Specify click listeners
-                    mRootView.setOnClickListener(new View.OnClickListener() {
-
-                        @Override
-                        public void onClick(View v) {
-
-                            if (listener != null){
-                                listener.onCalendarItemClick(day, position);
-                            }
-                        }
-                    });
+                    mBackground.bind(mRootView, CalendarUtils.isToday(day), true);
 
-                    mRootView.setOnLongClickListener(new View.OnLongClickListener() {
-
-                        @Override
-                        public boolean onLongClick(View v) {
-
-                            if (listener != null){
-                                listener.onCalendarItemLongClick(day, position);
-                            }
-                            return true;
-                        }
-                    });
+                    // Enable click listeners
+                    setClickable(true);
                     break;
 
                 case NON_CURRENT_MONTH_DAY: // Previous or next month
@@ -220,11 +223,10 @@ public class MonthGridAdapter extends BaseAdapter {
                     mDayIconFirstLevelView.setVisibility(View.GONE);
                     mDayIconSecondLevelView.setVisibility(View.GONE);
 
-                    mRootView.setBackgroundColor(Color.WHITE);
+                    mBackground.bind(mRootView, false, false);
 
-                    // Remove click listeners
-                    mRootView.setOnClickListener(null);
-                    mRootView.setOnLongClickListener(null);
+                    // Disable click listeners
+                    setClickable(false);
                     break;
 
                 default:
@@ -233,14 +235,46 @@ public class MonthGridAdapter extends BaseAdapter {
             }
         }
 
+        @Override
+        public void onClick(View v) {
+
+            if (mAdapter == null){
+                if (mListener != null){
+                    mListener.onCalendarItemClick(mDay, mPosition);
+                }
+            } else if (mAdapter.mListener != null && mPosition < mAdapter.getCount()){
+                mAdapter.mListener.onCalendarItemClick(mAdapter.mDayList.get(mPosition), mPosition);
+            }
+        }
+
+        @Override
+        public boolean onLongClick(View v) {
+
+            if (mAdapter == null){
+                if (mListener != null){
+                    mListener.onCalendarItemLongClick(mDay, mPosition);
+                }
+            } else if (mAdapter.mListener != null && mPosition < mAdapter.getCount()){
+                mAdapter.mListener.onCalendarItemLongClick(mAdapter.mDayList.get(mPosition), mPosition);
+            }
+            return true;
+        }
+
+        private void setClickable(final boolean clickable){
+            mRootView.setClickable(clickable);
+            mRootView.setLongClickable(clickable);
+        }
+
         /**
          * hide, show icons and badges for levels depending on day
          */
         private void setVisibilityForLevelIcon(Day day) {
 
-            if (day.getTimeOffItem() != null || day.getAuctionWithBidItem() != null) {
+            final int indicatorMask = day.getIndicatorMask();
+
+            if ((indicatorMask & (DayIndicators.TIME_OFF | DayIndicators.AUCTION_WITH_BID)) != 0) {
                 mDayIconFirstLevelView.setVisibility(View.VISIBLE);
-                if (day.getTimeOffItem() != null) {
+                if ((indicatorMask & DayIndicators.TIME_OFF) != 0) {
                     mDayIconFirstLevelView.setImage(day.getTimeOffItem().getIconImage());
                     mDayIconFirstLevelView.setBadge(day.getTimeOffItem().getBadgeImage());
                 } else {
@@ -248,7 +282,7 @@ public class MonthGridAdapter extends BaseAdapter {
                     mDayIconFirstLevelView.setBadge(day.getAuctionWithBidItem().getBadgeImage());
                 }
 
-                if (day.getAuctionNoBidItem() != null) {
+                if ((indicatorMask & DayIndicators.AUCTION_NO_BID) != 0) {
                     mDayIconSecondLevelView.setVisibility(View.VISIBLE);
                     mDayIconSecondLevelView.setImage(day.getAuctionNoBidItem().getIconImage());
                     mDayIconSecondLevelView.setBadge(day.getAuctionNoBidItem().getBadgeImage());
@@ -256,7 +290,7 @@ public class MonthGridAdapter extends BaseAdapter {
                     mDayIconSecondLevelView.setVisibility(View.GONE);
                 }
             } else {
-                if (day.getAuctionNoBidItem() != null) {
+                if ((indicatorMask & DayIndicators.AUCTION_NO_BID) != 0) {
                     mDayIconFirstLevelView.setVisibility(View.VISIBLE);
                     mDayIconFirstLevelView.setImage(day.getAuctionNoBidItem().getIconImage());
                     mDayIconFirstLevelView.setBadge(day.getAuctionNoBidItem().getBadgeImage());
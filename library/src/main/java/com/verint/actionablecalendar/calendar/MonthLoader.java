@@ -0,0 +1,176 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.verint.actionablecalendar.calendar.models.Direction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Generates months for load more requests of {@link CalendarRecyclerView} on background thread and
+ * publishes them on main thread as single batch. Only one load can be pending at a time, pending
+ * load can be cancelled (e.g. once scroll direction was reversed), in such case its result is never
+ * published.
+ */
+final class MonthLoader {
+
+    private static ExecutorService sExecutor;
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    // Accessed from main thread only
+    private Task mPendingTask;
+
+    interface Callback {
+
+        /**
+         * Called on main thread once months were generated
+         *
+         * @param direction direction of load
+         * @param anchorMonthOrdinal edge month of list the months were loaded next to
+         * @param months generated months in chronological order
+         */
+        void onMonthsLoaded(@NonNull Direction direction, int anchorMonthOrdinal,
+                            @NonNull List<MixedVisibleMonth> months);
+    }
+
+    /**
+     * Starts generation of months next to provided edge month, pending load is cancelled
+     *
+     * @param direction {@link Direction#DOWN} for months after anchor,
+     * {@link Direction#UP} for months before anchor
+     * @param anchorMonthOrdinal currently last (or first) loaded month, see {@link MonthOrdinal}
+     * @param count amount of months to generate
+     * @param callback receiver of generated months
+     */
+    @MainThread
+    void load(@NonNull final Direction direction, final int anchorMonthOrdinal, final int count,
+              @NonNull final Callback callback){
+
+        cancel();
+        final Task task = new Task(direction, anchorMonthOrdinal, count, callback);
+        mPendingTask = task;
+        task.mFuture = getExecutor().submit(task);
+    }
+
+    /**
+     * Cancels pending load of provided direction
+     *
+     * @return true if load was cancelled, false if there was no such pending load
+     */
+    @MainThread
+    boolean cancel(@NonNull final Direction direction){
+        if (mPendingTask != null && mPendingTask.mDirection == direction){
+            cancel();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Cancels pending load if any
+     */
+    @MainThread
+    void cancel(){
+        final Task task = mPendingTask;
+        if (task != null){
+            mPendingTask = null;
+            task.mCancelled = true;
+            if (task.mFuture != null){
+                task.mFuture.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Returns direction of pending load or null if there is no pending load
+     */
+    @MainThread
+    @Nullable
+    Direction getLoadingDirection(){
+        return mPendingTask != null ? mPendingTask.mDirection : null;
+    }
+
+    /**
+     * Runs provided task on the same background thread which generates months
+     */
+    static void execute(@NonNull final Runnable task){
+        getExecutor().execute(task);
+    }
+
+    private static synchronized ExecutorService getExecutor(){
+        if (sExecutor == null){
+            sExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread(@NonNull Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "CalendarMonthLoader");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                }
+            });
+        }
+        return sExecutor;
+    }
+
+    private final class Task implements Runnable {
+
+        private final Direction mDirection;
+        private final int mAnchorMonthOrdinal;
+        private final int mCount;
+        private final Callback mCallback;
+
+        private volatile boolean mCancelled;
+        private Future<?> mFuture;
+
+        private Task(@NonNull final Direction direction, final int anchorMonthOrdinal,
+                     final int count, @NonNull final Callback callback){
+            mDirection = direction;
+            mAnchorMonthOrdinal = anchorMonthOrdinal;
+            mCount = count;
+            mCallback = callback;
+        }
+
+        @Override
+        public void run() {
+
+            final int step = mDirection == Direction.DOWN ? 1 : -1;
+            final CalendarDataFactory factory = CalendarDataFactory.newInstance();
+            final List<MixedVisibleMonth> months = new ArrayList<>(mCount);
+
+            // Nearest months first, so cancelled load wastes as less as possible
+            for (int i = 1; i <= mCount; i++){
+                if (mCancelled){
+                    return;
+                }
+                months.add(factory.create(MonthOrdinal.plus(mAnchorMonthOrdinal, i * step)));
+            }
+
+            if (mDirection == Direction.UP){
+                Collections.reverse(months);
+            }
+
+            mMainHandler.post(new Runnable() {
+
+                @Override
+                public void run() {
+                    if (!mCancelled && mPendingTask == Task.this){
+                        mPendingTask = null;
+                        mCallback.onMonthsLoaded(mDirection, mAnchorMonthOrdinal, months);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.support.annotation.NonNull;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Represents calendar month as single {@code int} ordinal packed as {@code year * 12 + month}
+ * (month is 0-based as {@link Calendar#MONTH}), so difference, addition and comparison of
+ * months are done by plain integer arithmetic instead of stepping {@link Calendar} month by month
+ */
+public final class MonthOrdinal {
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private MonthOrdinal(){
+        // Hidden constructor
+    }
+
+    /**
+     * Returns ordinal of provided month
+     *
+     * @param year e.g. 2016
+     * @param month 0-based month, e.g. {@link Calendar#NOVEMBER}
+     * @return month ordinal
+     */
+    public static int of(final int year, final int month){
+        return year * MONTHS_PER_YEAR + month;
+    }
+
+    /**
+     * Returns ordinal of month which contains provided epoch day, see {@link EpochDay}
+     */
+    public static int ofEpochDay(final int epochDay){
+        return of(EpochDay.year(epochDay), EpochDay.month(epochDay));
+    }
+
+    /**
+     * Returns ordinal of month which contains provided {@link Date} according to local time zone
+     */
+    public static int of(@NonNull final Date date){
+        return ofEpochDay(EpochDay.fromDate(date));
+    }
+
+    /**
+     * Returns ordinal of month which contains provided {@link Calendar}
+     */
+    public static int of(@NonNull final Calendar calendar){
+        return of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH));
+    }
+
+    /**
+     * Returns ordinal of current month
+     */
+    public static int current(){
+        return ofEpochDay(TodayClock.getInstance().today());
+    }
+
+    /**
+     * Returns year of provided month ordinal, e.g. 2016
+     */
+    public static int year(final int monthOrdinal){
+        return EpochDay.floorDiv(monthOrdinal, MONTHS_PER_YEAR);
+    }
+
+    /**
+     * Returns 0-based month of provided month ordinal, e.g. {@link Calendar#NOVEMBER}
+     */
+    public static int month(final int monthOrdinal){
+        return EpochDay.floorMod(monthOrdinal, MONTHS_PER_YEAR);
+    }
+
+    /**
+     * Returns ordinal shifted by provided amount of months
+     *
+     * @param monthOrdinal month ordinal
+     * @param months amount of months to add, can be negative
+     * @return month ordinal
+     */
+    public static int plus(final int monthOrdinal, final int months){
+        return monthOrdinal + months;
+    }
+
+    /**
+     * Returns amount of months between provided ordinals, negative if end is before start
+     */
+    public static int between(final int startMonthOrdinal, final int endMonthOrdinal){
+        return endMonthOrdinal - startMonthOrdinal;
+    }
+
+    /**
+     * Compares provided ordinals
+     *
+     * @return negative value if first month is before second one, zero if it's same month,
+     * positive value otherwise
+     */
+    public static int compare(final int monthOrdinal1, final int monthOrdinal2){
+        return monthOrdinal1 < monthOrdinal2 ? -1 : (monthOrdinal1 == monthOrdinal2 ? 0 : 1);
+    }
+
+    /**
+     * Returns amount of days in provided month
+     */
+    public static int lengthOf(final int monthOrdinal){
+        return EpochDay.lengthOfMonth(year(monthOrdinal), month(monthOrdinal));
+    }
+
+    /**
+     * Returns epoch day of first day of provided month, see {@link EpochDay}
+     */
+    public static int firstEpochDay(final int monthOrdinal){
+        return EpochDay.of(year(monthOrdinal), month(monthOrdinal), 1);
+    }
+
+    /**
+     * Returns {@link Date} of beginning of first day of provided month in local time zone
+     */
+    @NonNull
+    public static Date toDate(final int monthOrdinal){
+        return EpochDay.toDate(firstEpochDay(monthOrdinal));
+    }
+}
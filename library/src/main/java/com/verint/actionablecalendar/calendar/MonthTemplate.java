@@ -0,0 +1,181 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.support.annotation.NonNull;
+
+import com.verint.actionablecalendar.utils.WeekendHelper;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable layout of single month grid: epoch days and {@link DayState.DayType} of each cell
+ * including previous and next month days and month header. Layout depends only on month, first day
+ * of week and week end days, hence templates are kept in bounded LRU cache and shared between all
+ * {@link MonthDayStore} instances of the same month, which keep their own indicators on top of it.
+ *
+ * Arrays of template are never modified, see {@link MonthDayStore#setDayType(int, DayState.DayType)}
+ */
+final class MonthTemplate {
+
+    // Several years around current quarter are enough for back and forth scrolling
+    private static final int CACHE_CAPACITY = 36;
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    private static final Map<Key, MonthTemplate> sCache =
+            new LinkedHashMap<Key, MonthTemplate>(CACHE_CAPACITY, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, MonthTemplate> eldest) {
+                    return size() > CACHE_CAPACITY;
+                }
+            };
+
+    final int[] mEpochDays;
+    final byte[] mDayTypes;
+    final int mPreviousMonthDayCount;
+    final int mCurrentMonthDayCount;
+
+    private MonthTemplate(@NonNull final Key key, final int previousMonthDayCount,
+                          final int currentMonthDayCount){
+
+        final int firstDayOfMonth = MonthOrdinal.firstEpochDay(key.mMonthOrdinal);
+        final int firstDayOfGrid = firstDayOfMonth - previousMonthDayCount;
+        final int firstDayOfNextMonth = firstDayOfMonth + currentMonthDayCount;
+        final int totalDaysInMixedView = key.mWeekendMasks.length * DAYS_PER_WEEK;
+
+        // One more cell for month header
+        mEpochDays = new int[totalDaysInMixedView + 1];
+        mDayTypes = new byte[totalDaysInMixedView + 1];
+
+        for (int i = 0; i < totalDaysInMixedView; i++){
+
+            final int epochDay = firstDayOfGrid + i;
+            final DayState.DayType type;
+            if (epochDay < firstDayOfMonth || epochDay >= firstDayOfNextMonth){
+                type = DayState.DayType.NON_CURRENT_MONTH_DAY;
+            } else {
+                final int weekendMask = key.mWeekendMasks[i / DAYS_PER_WEEK];
+                type = WeekendHelper.isWeekendDay(weekendMask, EpochDay.dayOfWeek(epochDay))
+                        ? DayState.DayType.CURRENT_MONTH_DAY_WEEKEND
+                        : DayState.DayType.CURRENT_MONTH_DAY_NORMAL;
+            }
+            mEpochDays[i] = epochDay;
+            mDayTypes[i] = (byte) type.ordinal();
+        }
+
+        mEpochDays[totalDaysInMixedView] = firstDayOfMonth;
+        mDayTypes[totalDaysInMixedView] = (byte) DayState.DayType.MONTH_HEADER.ordinal();
+
+        mPreviousMonthDayCount = previousMonthDayCount;
+        mCurrentMonthDayCount = currentMonthDayCount;
+    }
+
+    /**
+     * Returns template of provided month for currently used first day of week and week end days,
+     * template is taken from cache if it's possible
+     *
+     * @param monthOrdinal month, see {@link MonthOrdinal}
+     * @return {@link MonthTemplate}
+     */
+    @NonNull
+    static MonthTemplate obtain(final int monthOrdinal){
+
+        final int firstDayOfMonth = MonthOrdinal.firstEpochDay(monthOrdinal);
+        final int firstDayOfWeek = CalendarUtils.getFirstDayOfWeek();
+        final int previousMonthDayCount = calculatePreviousMonthDayCount(firstDayOfMonth, firstDayOfWeek);
+        final int currentMonthDayCount = MonthOrdinal.lengthOf(monthOrdinal);
+
+        // Calculate amount of rows required to represent data according to amount of month days
+        final int rows = ((previousMonthDayCount + currentMonthDayCount) > (5 * DAYS_PER_WEEK)) ? 6 : 5;
+
+        final int firstDayOfGrid = firstDayOfMonth - previousMonthDayCount;
+        final int[] weekendMasks = new int[rows];
+        for (int row = 0; row < rows; row++){
+            weekendMasks[row] = WeekendHelper.getWeekendMaskForDay(firstDayOfGrid + row * DAYS_PER_WEEK);
+        }
+
+        final Key key = new Key(monthOrdinal, firstDayOfWeek, weekendMasks);
+        synchronized (sCache){
+            final MonthTemplate cached = sCache.get(key);
+            if (cached != null){
+                return cached;
+            }
+        }
+
+        // Built outside of lock, in the worst case same template is built twice
+        final MonthTemplate template = new MonthTemplate(key, previousMonthDayCount, currentMonthDayCount);
+        synchronized (sCache){
+            sCache.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Returns amount of items of month within calendar list (all grid cells and header) without
+     * creation of template
+     *
+     * @param monthOrdinal month, see {@link MonthOrdinal}
+     * @param firstDayOfWeek {@link java.util.Calendar#DAY_OF_WEEK} constant
+     * @return amount of items
+     */
+    static int getItemCount(final int monthOrdinal, final int firstDayOfWeek){
+        final int previousMonthDayCount = calculatePreviousMonthDayCount(
+                MonthOrdinal.firstEpochDay(monthOrdinal), firstDayOfWeek);
+        final int rows = ((previousMonthDayCount + MonthOrdinal.lengthOf(monthOrdinal))
+                > (5 * DAYS_PER_WEEK)) ? 6 : 5;
+        return rows * DAYS_PER_WEEK + 1;
+    }
+
+    /**
+     * Calculates amount of days of previous month which are shown in first row before
+     * first day of month
+     */
+    private static int calculatePreviousMonthDayCount(final int firstDayOfCurrentMonth,
+                                                      final int firstDayOfWeek){
+
+        final int firstDay = EpochDay.dayOfWeek(firstDayOfCurrentMonth);
+
+        if (firstDay == firstDayOfWeek) {
+            return 0;
+        }
+        return firstDay > firstDayOfWeek ? firstDay - firstDayOfWeek
+                : DAYS_PER_WEEK - (firstDayOfWeek - firstDay);
+    }
+
+    private static final class Key {
+
+        final int mMonthOrdinal;
+        final int mFirstDayOfWeek;
+        // Week end mask of each row of grid
+        final int[] mWeekendMasks;
+
+        Key(final int monthOrdinal, final int firstDayOfWeek, @NonNull final int[] weekendMasks){
+            mMonthOrdinal = monthOrdinal;
+            mFirstDayOfWeek = firstDayOfWeek;
+            mWeekendMasks = weekendMasks;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) obj;
+            return mMonthOrdinal == that.mMonthOrdinal && mFirstDayOfWeek == that.mFirstDayOfWeek
+                    && Arrays.equals(mWeekendMasks, that.mWeekendMasks);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mMonthOrdinal;
+            result = 31 * result + mFirstDayOfWeek;
+            result = 31 * result + Arrays.hashCode(mWeekendMasks);
+            return result;
+        }
+    }
+}
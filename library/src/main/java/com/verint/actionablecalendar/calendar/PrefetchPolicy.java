@@ -0,0 +1,39 @@
+package com.verint.actionablecalendar.calendar;
+
+/**
+ * Strategy which decides when {@link CalendarRecyclerView} starts loading of more months and how
+ * many months are loaded at once. Policy is fed by scroll progress and by latency of finished loads,
+ * all methods are called on main thread.
+ *
+ * @see AdaptivePrefetchPolicy
+ * @see FixedPrefetchPolicy
+ */
+public interface PrefetchPolicy {
+
+    /**
+     * Called on each scroll event
+     *
+     * @param itemDelta amount of items scrolled since previous call, sign represents direction
+     * @param uptimeMillis time of scroll event, see {@link android.os.SystemClock#uptimeMillis()}
+     */
+    void onScrolled(int itemDelta, long uptimeMillis);
+
+    /**
+     * Called once load of months was finished
+     *
+     * @param monthCount amount of loaded months
+     * @param latencyMillis time passed from load request till months were added to the list
+     */
+    void onMonthsLoaded(int monthCount, long latencyMillis);
+
+    /**
+     * Returns distance (in items) between visible edge and edge of loaded data, once it's reached
+     * load of more months is started
+     */
+    int getLoadTriggerDistance();
+
+    /**
+     * Returns amount of months which should be loaded by single load
+     */
+    int getMonthsToLoad();
+}
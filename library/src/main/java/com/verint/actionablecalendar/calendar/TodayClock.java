@@ -0,0 +1,189 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared source of today's epoch day (see {@link EpochDay}). Value is cached together with
+ * boundaries of today in UTC milliseconds, hence check of today is single comparison of current
+ * timestamp without any allocation. Cached value is refreshed when day is over and on
+ * date, time or time zone change broadcasts, after which registered
+ * {@link OnDayChangedListener} listeners are informed on main thread.
+ */
+public final class TodayClock {
+
+    private static final TodayClock INSTANCE = new TodayClock();
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final List<OnDayChangedListener> mListeners = new ArrayList<>();
+
+    private volatile State mState;
+    private Context mRegisteredContext;
+
+    private final BroadcastReceiver mTimeChangeReceiver = new BroadcastReceiver() {
+
+        @Override
+        public void onReceive(Context context, Intent intent) {
+
+            if (Intent.ACTION_TIMEZONE_CHANGED.equals(intent.getAction())){
+                EpochDay.invalidateTimeZone();
+            }
+            refresh(System.currentTimeMillis(), true);
+        }
+    };
+
+    private final Runnable mMidnightRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            refresh(System.currentTimeMillis(), false);
+        }
+    };
+
+    private TodayClock(){
+        // Hidden constructor
+    }
+
+    public static TodayClock getInstance(){
+        return INSTANCE;
+    }
+
+    /**
+     * Returns today's epoch day, see {@link EpochDay}
+     *
+     * @return amount of days since 1970-01-01
+     */
+    public int today(){
+
+        final long now = System.currentTimeMillis();
+        State state = mState;
+        if (state == null || now < state.mStartMillis || now >= state.mEndMillis){
+            state = refresh(now, false);
+        }
+        return state.mEpochDay;
+    }
+
+    /**
+     * Registers listener for day change events, listener is invoked on main thread.
+     * Should be called from main thread
+     *
+     * @param context {@link Context} used for registration of date and time change receiver
+     * @param listener {@link OnDayChangedListener}
+     */
+    public void addOnDayChangedListener(@NonNull Context context,
+                                        @NonNull OnDayChangedListener listener){
+
+        if (mListeners.contains(listener)){
+            return;
+        }
+        mListeners.add(listener);
+
+        if (mRegisteredContext == null){
+            final IntentFilter filter = new IntentFilter();
+            filter.addAction(Intent.ACTION_DATE_CHANGED);
+            filter.addAction(Intent.ACTION_TIME_CHANGED);
+            filter.addAction(Intent.ACTION_TIMEZONE_CHANGED);
+
+            mRegisteredContext = context.getApplicationContext();
+            mRegisteredContext.registerReceiver(mTimeChangeReceiver, filter);
+
+            // Date or time zone could be changed while nobody was listening
+            EpochDay.invalidateTimeZone();
+            refresh(System.currentTimeMillis(), true);
+        }
+    }
+
+    /**
+     * Unregisters listener of day change events. Should be called from main thread
+     *
+     * @param listener {@link OnDayChangedListener}
+     */
+    public void removeOnDayChangedListener(@NonNull OnDayChangedListener listener){
+
+        mListeners.remove(listener);
+
+        if (mListeners.isEmpty() && mRegisteredContext != null){
+            mRegisteredContext.unregisterReceiver(mTimeChangeReceiver);
+            mRegisteredContext = null;
+            mMainHandler.removeCallbacks(mMidnightRunnable);
+        }
+    }
+
+    private synchronized State refresh(final long now, final boolean force){
+
+        final State previousState = mState;
+        if (!force && previousState != null
+                && now >= previousState.mStartMillis && now < previousState.mEndMillis){
+            // Already refreshed by another thread
+            return previousState;
+        }
+
+        final int today = EpochDay.fromMillis(now);
+        final State state = new State(today, EpochDay.toMillis(today, 0),
+                EpochDay.toMillis(today + 1, 0));
+        mState = state;
+
+        mMainHandler.post(new Runnable() {
+
+            @Override
+            public void run() {
+                onStateChanged(previousState, state);
+            }
+        });
+        return state;
+    }
+
+    private void onStateChanged(final State previousState, @NonNull final State state){
+
+        if (mListeners.isEmpty()){
+            return;
+        }
+
+        // Schedule next check at the beginning of tomorrow
+        mMainHandler.removeCallbacks(mMidnightRunnable);
+        mMainHandler.postDelayed(mMidnightRunnable,
+                Math.max(state.mEndMillis - System.currentTimeMillis(), 0));
+
+        if (previousState != null && previousState.mEpochDay != state.mEpochDay){
+            for (OnDayChangedListener each : new ArrayList<>(mListeners)){
+                each.onDayChanged(previousState.mEpochDay, state.mEpochDay);
+            }
+        }
+    }
+
+    private static final class State {
+
+        private final int mEpochDay;
+        private final long mStartMillis;
+        private final long mEndMillis;
+
+        private State(final int epochDay, final long startMillis, final long endMillis){
+            mEpochDay = epochDay;
+            mStartMillis = startMillis;
+            mEndMillis = endMillis;
+        }
+    }
+
+    /////////////////////////////////////////
+    /////////// Listener region /////////////
+    /////////////////////////////////////////
+
+    public interface OnDayChangedListener {
+
+        /**
+         * Informs that today was changed, e.g. after midnight or time zone change
+         *
+         * @param previousEpochDay previous today's epoch day
+         * @param currentEpochDay current today's epoch day
+         */
+        void onDayChanged(int previousEpochDay, int currentEpochDay);
+    }
+}
@@ -0,0 +1,660 @@
+package com.verint.actionablecalendar.calendar;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.view.ViewGroup;
+
+import com.verint.mylibrary.R;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Alternative adapter of {@link CalendarRecyclerView} which doesn't keep list of days: type and
+ * date of item at any position are calculated arithmetically from first month of very large range
+ * and table of month start positions, so there is no load more at all and amount of items doesn't
+ * depend on scrolled distance. Only days with shift or indicators are kept in memory, all other
+ * cells are bound through reusable day of view holder.
+ *
+ * Item layout is the same as of {@link CalendarRecyclerViewAdapter}: month header followed by all
+ * cells of month grid. Alternatively each item can be whole month drawn by {@link MonthCanvasView},
+ * see {@link #setWholeMonthItems(boolean)}, then position of month header is position of month.
+ */
+public class VirtualCalendarRecyclerViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
+        implements DayChangeSet.Target {
+
+    /**
+     * Default amount of months available before and after current month, 100 years
+     */
+    public static final int DEFAULT_MONTH_RANGE = 1200;
+
+    private final int mFirstMonthOrdinal;
+    private final int mMonthCount;
+
+    // Position of header of each month, last value is total amount of items
+    private int[] mMonthStartPositions;
+
+    // Days with shift or indicators by epoch day
+    private final SparseArray<Day> mMaterializedDays = new SparseArray<>();
+    // Cells changed by recent indicators update
+    private final DayChangeSet mChangeSet = new DayChangeSet();
+    // Epoch day of selected day, see CalendarRecyclerViewAdapter.NO_SELECTED_DAY
+    private int mSelectedEpochDay = CalendarRecyclerViewAdapter.NO_SELECTED_DAY;
+
+    private boolean mCustomDrawnCells;
+    private boolean mWholeMonthItems;
+    // Shared by all DayCellView cells, created on demand
+    private DayCellRenderer mCellRenderer;
+    // Resolved from theme once first cell is created
+    private CalendarStyle mStyle;
+
+    // Most recently bound month, consequent cells are usually of the same month
+    private MonthTemplate mRecentTemplate;
+    private int mRecentTemplateMonthOrdinal;
+
+    private CalendarCallbacks mItemClickListener;
+    private final MonthCanvasView.OnDayClickListener mMonthDayClickListener = new MonthCanvasView.OnDayClickListener() {
+
+        @Override
+        public void onDayClick(@NonNull MonthCanvasView view, int epochDay) {
+            if (mItemClickListener != null) {
+                mItemClickListener.onCalendarItemClick(getDayByEpochDay(epochDay),
+                        getMonthHeaderPosition(MonthOrdinal.ofEpochDay(epochDay)));
+            }
+        }
+
+        @Override
+        public void onDayLongClick(@NonNull MonthCanvasView view, int epochDay) {
+            if (mItemClickListener != null) {
+                mItemClickListener.onCalendarItemLongClick(getDayByEpochDay(epochDay),
+                        getMonthHeaderPosition(MonthOrdinal.ofEpochDay(epochDay)));
+            }
+        }
+    };
+    // Day is resolved at click time: materialized day or new day, never reusable day of holder
+    private final CalendarRecyclerViewAdapter.OnDayCellClickListener mDayCellClickListener =
+            new CalendarRecyclerViewAdapter.OnDayCellClickListener() {
+
+        @Override
+        public void onDayCellClick(int position) {
+            if (mItemClickListener != null) {
+                mItemClickListener.onCalendarItemClick(getDayByPosition(position), position);
+            }
+        }
+
+        @Override
+        public void onDayCellLongClick(int position) {
+            if (mItemClickListener != null) {
+                mItemClickListener.onCalendarItemLongClick(getDayByPosition(position), position);
+            }
+        }
+    };
+
+    public VirtualCalendarRecyclerViewAdapter() {
+        this(DEFAULT_MONTH_RANGE);
+    }
+
+    /**
+     * @param monthRange amount of months available before and after current month
+     */
+    public VirtualCalendarRecyclerViewAdapter(final int monthRange) {
+        if (monthRange < 0) {
+            throw new IllegalArgumentException("Month range can't be negative");
+        }
+        mFirstMonthOrdinal = MonthOrdinal.current() - monthRange;
+        mMonthCount = monthRange * 2 + 1;
+        buildMonthStartPositions();
+        setHasStableIds(true);
+    }
+
+    /**
+     * Returns stable id of item, the same as of {@link CalendarRecyclerViewAdapter}
+     */
+    @Override
+    public long getItemId(int position) {
+        final int monthIndex = getMonthIndexByPosition(position);
+        final int monthOrdinal = mFirstMonthOrdinal + monthIndex;
+        final int offset = position - mMonthStartPositions[monthIndex];
+        if (offset == 0) {
+            return CalendarRecyclerViewAdapter.getItemId(MonthOrdinal.firstEpochDay(monthOrdinal),
+                    CalendarRecyclerViewAdapter.ITEM_SEGMENT_HEADER);
+        }
+        final int epochDay = getTemplate(monthOrdinal).mEpochDays[offset - 1];
+        final int dayMonthOrdinal = MonthOrdinal.ofEpochDay(epochDay);
+        final int segment;
+        if (dayMonthOrdinal < monthOrdinal) {
+            segment = CalendarRecyclerViewAdapter.ITEM_SEGMENT_PREVIOUS_MONTH;
+        } else if (dayMonthOrdinal > monthOrdinal) {
+            segment = CalendarRecyclerViewAdapter.ITEM_SEGMENT_NEXT_MONTH;
+        } else {
+            segment = CalendarRecyclerViewAdapter.ITEM_SEGMENT_CURRENT_MONTH;
+        }
+        return CalendarRecyclerViewAdapter.getItemId(epochDay, segment);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        if (mWholeMonthItems) {
+            return CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH;
+        }
+        final int monthIndex = getMonthIndexByPosition(position);
+        if (position == mMonthStartPositions[monthIndex]) {
+            return CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_HEADER;
+        }
+        return mCustomDrawnCells ?
+                CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_DAY_CELL : CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_DAY;
+    }
+
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        if (viewType == CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_HEADER) {
+            return new CalendarRecyclerViewAdapter.HeaderViewHolder(
+                    CalendarWarmUp.obtainView(parent, R.layout.month_header_item));
+        } else if (viewType == CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_DAY) {
+            return new CalendarRecyclerViewAdapter.MonthDayViewHolder(
+                    CalendarWarmUp.obtainView(parent, R.layout.month_grid_item),
+                    mDayCellClickListener, getStyle(parent.getContext()));
+        } else if (viewType == CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH_DAY_CELL) {
+            return new CalendarRecyclerViewAdapter.DayCellViewHolder(
+                    new DayCellView(parent.getContext(), getCellRenderer(parent.getContext())),
+                    mDayCellClickListener);
+        } else if (viewType == CalendarRecyclerViewAdapter.VIEW_TYPE_MONTH) {
+            final MonthCanvasView monthView = new MonthCanvasView(parent.getContext(),
+                    getCellRenderer(parent.getContext()));
+            monthView.setOnDayClickListener(mMonthDayClickListener);
+            return new MonthCanvasViewHolder(monthView);
+        }
+        return null;
+    }
+
+    @NonNull
+    private CalendarStyle getStyle(@NonNull final Context context) {
+        if (mStyle == null) {
+            mStyle = CalendarStyle.obtain(context);
+        }
+        return mStyle;
+    }
+
+    @NonNull
+    private DayCellRenderer getCellRenderer(@NonNull final Context context) {
+        if (mCellRenderer == null) {
+            mCellRenderer = new DayCellRenderer(context, getStyle(context));
+        }
+        return mCellRenderer;
+    }
+
+    @Override
+    public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+
+        if (holder instanceof MonthCanvasViewHolder) {
+            bindMonth((MonthCanvasViewHolder) holder, getMonthOrdinalByPosition(position));
+
+        } else if (holder instanceof CalendarRecyclerViewAdapter.HeaderViewHolder) {
+            final int monthOrdinal = getMonthOrdinalByPosition(position);
+            ((CalendarRecyclerViewAdapter.HeaderViewHolder) holder).bind(MonthOrdinal.firstEpochDay(monthOrdinal));
+
+        } else if (holder instanceof CalendarRecyclerViewAdapter.DayViewHolder) {
+            final CalendarRecyclerViewAdapter.DayViewHolder dayHolder =
+                    (CalendarRecyclerViewAdapter.DayViewHolder) holder;
+            final Day day = getDayForBinding(dayHolder, position);
+            dayHolder.bind(day);
+            dayHolder.bindSelection(day.getEpochDay() == mSelectedEpochDay);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(RecyclerView.ViewHolder holder, int position, List<Object> payloads) {
+        final int changes = DayChangeSet.getChanges(payloads);
+        if (changes == DayChangeSet.CHANGE_ALL
+                || !(holder instanceof CalendarRecyclerViewAdapter.DayViewHolder)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        final CalendarRecyclerViewAdapter.DayViewHolder dayHolder =
+                (CalendarRecyclerViewAdapter.DayViewHolder) holder;
+        final Day day = getDayForBinding(dayHolder, position);
+        dayHolder.bindChanges(day, changes, day.getEpochDay() == mSelectedEpochDay);
+    }
+
+    /**
+     * Fills all cells of month view, days without data are copied through holder's scratch day
+     */
+    private void bindMonth(@NonNull final MonthCanvasViewHolder holder, final int monthOrdinal) {
+
+        final MonthTemplate template = getTemplate(monthOrdinal);
+        final MonthCanvasView monthView = holder.mMonthView;
+        monthView.setMonth(monthOrdinal, template);
+        monthView.setSelectedEpochDay(mSelectedEpochDay);
+
+        final DayState.DayType[] types = MonthDayStore.DAY_TYPES;
+        for (int i = 0, count = monthView.getCellCount(); i < count; i++) {
+            final int epochDay = template.mEpochDays[i];
+            final DayState.DayType type = types[template.mDayTypes[i]];
+            Day day = type != DayState.DayType.NON_CURRENT_MONTH_DAY ? mMaterializedDays.get(epochDay) : null;
+            if (day == null) {
+                day = holder.mScratchDay;
+                day.reset(epochDay, type);
+            }
+            monthView.setDay(i, day);
+        }
+    }
+
+    /**
+     * Returns materialized day of cell at provided position or holder's scratch day filled
+     * by cell's epoch day and type
+     */
+    @NonNull
+    private Day getDayForBinding(@NonNull final CalendarRecyclerViewAdapter.DayViewHolder dayHolder,
+                                 final int position) {
+
+        final int monthIndex = getMonthIndexByPosition(position);
+        final int offset = position - mMonthStartPositions[monthIndex];
+
+        final MonthTemplate template = getTemplate(mFirstMonthOrdinal + monthIndex);
+        final int epochDay = template.mEpochDays[offset - 1];
+        final DayState.DayType type = MonthDayStore.DAY_TYPES[template.mDayTypes[offset - 1]];
+
+        Day day = type != DayState.DayType.NON_CURRENT_MONTH_DAY ? mMaterializedDays.get(epochDay) : null;
+        if (day == null) {
+            if (dayHolder.mScratchDay == null) {
+                dayHolder.mScratchDay = Day.scratch();
+            }
+            day = dayHolder.mScratchDay;
+            day.reset(epochDay, type);
+        }
+        return day;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mMonthStartPositions[mMonthCount];
+    }
+
+    /**
+     * Returns position of month header of provided month
+     *
+     * @param monthOrdinal month, see {@link MonthOrdinal}
+     * @return position or {@link RecyclerView#NO_POSITION} if month is out of range
+     */
+    public int getMonthHeaderPosition(final int monthOrdinal) {
+        final int monthIndex = monthOrdinal - mFirstMonthOrdinal;
+        if (monthIndex < 0 || monthIndex >= mMonthCount) {
+            return RecyclerView.NO_POSITION;
+        }
+        return mMonthStartPositions[monthIndex];
+    }
+
+    public int getCurrentMonthHeaderPosition() {
+        return getMonthHeaderPosition(MonthOrdinal.current());
+    }
+
+    /**
+     * Returns month of item at provided position, see {@link MonthOrdinal}
+     */
+    public int getMonthOrdinalByPosition(final int position) {
+        return mFirstMonthOrdinal + getMonthIndexByPosition(position);
+    }
+
+    public Date getDateByPosition(int position) {
+        if (position < 0 || position >= getItemCount()) {
+            // to avoid null pointer
+            return new Date();
+        }
+        return EpochDay.toDate(getEpochDayByPosition(position));
+    }
+
+    /**
+     * Returns {@link Day} of provided position, days without data are created on each call
+     *
+     * @param position adapter position
+     * @return {@link Day}
+     */
+    public Day getDayByPosition(int position) {
+        if (position < 0 || position >= getItemCount()) {
+            // to avoid null pointer
+            return new Day(new Date(), new DayState());
+        }
+
+        final int monthIndex = getMonthIndexByPosition(position);
+        final int offset = position - mMonthStartPositions[monthIndex];
+        final int monthOrdinal = mFirstMonthOrdinal + monthIndex;
+        if (offset == 0) {
+            return new Day(MonthOrdinal.firstEpochDay(monthOrdinal), new DayState(DayState.DayType.MONTH_HEADER));
+        }
+
+        final MonthTemplate template = getTemplate(monthOrdinal);
+        final int epochDay = template.mEpochDays[offset - 1];
+        final DayState.DayType type = MonthDayStore.DAY_TYPES[template.mDayTypes[offset - 1]];
+        final Day day = type != DayState.DayType.NON_CURRENT_MONTH_DAY ? mMaterializedDays.get(epochDay) : null;
+        return day != null ? day : new Day(epochDay, new DayState(type));
+    }
+
+    /**
+     * @param position position (day) in calendar to start search next month from
+     * @return date of first day of founded next month
+     */
+    public Date getNextMonthFromPosition(int position) {
+        if (position < 0 || position >= getItemCount()) {
+            return new Date();
+        }
+        final int monthIndex = getMonthIndexByPosition(position);
+        final int nextMonthIndex = position == mMonthStartPositions[monthIndex]
+                || monthIndex == mMonthCount - 1 ? monthIndex : monthIndex + 1;
+        return MonthOrdinal.toDate(mFirstMonthOrdinal + nextMonthIndex);
+    }
+
+    /**
+     * Returns positions of first and last days which have shift or indicators
+     *
+     * @return two positions or null if there are no such days
+     */
+    int[] getMaterializedPositionRange() {
+        final int size = mMaterializedDays.size();
+        if (size == 0) {
+            return null;
+        }
+        return new int[]{getPositionByEpochDay(mMaterializedDays.keyAt(0)),
+                getPositionByEpochDay(mMaterializedDays.keyAt(size - 1))};
+    }
+
+    /**
+     * Switches items between month header with separate month day cells and whole month
+     * drawn by single {@link MonthCanvasView}. Layout manager should show whole month items
+     * one per row.
+     *
+     * @param wholeMonthItems true to show each month as single item
+     */
+    public void setWholeMonthItems(final boolean wholeMonthItems) {
+        if (mWholeMonthItems != wholeMonthItems) {
+            mWholeMonthItems = wholeMonthItems;
+            buildMonthStartPositions();
+            notifyDataSetChanged();
+        }
+    }
+
+    public boolean isWholeMonthItems() {
+        return mWholeMonthItems;
+    }
+
+    /**
+     * Returns days of items within provided positions, whole month item is expanded to current
+     * month days
+     *
+     * @param firstPosition first position, inclusive
+     * @param lastPosition last position, inclusive
+     * @return list of days, days without data are created on each call
+     */
+    @NonNull
+    List<Day> getDaysByPositionRange(final int firstPosition, final int lastPosition) {
+        final List<Day> days = new ArrayList<>();
+        for (int position = firstPosition; position <= lastPosition; position++) {
+            if (!mWholeMonthItems) {
+                days.add(getDayByPosition(position));
+                continue;
+            }
+            final MonthTemplate template = getTemplate(getMonthOrdinalByPosition(position));
+            final int firstDay = template.mEpochDays[template.mPreviousMonthDayCount];
+            for (int i = 0; i < template.mCurrentMonthDayCount; i++) {
+                days.add(getDayByEpochDay(firstDay + i));
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Switches month day cells between view hierarchy of month_grid_item.xml and
+     * {@link DayCellView} which draws whole cell by itself
+     *
+     * @param customDrawnCells true to use {@link DayCellView}
+     */
+    public void setCustomDrawnCells(final boolean customDrawnCells) {
+        if (mCustomDrawnCells != customDrawnCells) {
+            mCustomDrawnCells = customDrawnCells;
+            notifyDataSetChanged();
+        }
+    }
+
+    public boolean isCustomDrawnCells() {
+        return mCustomDrawnCells;
+    }
+
+    public void setItemClickListener(CalendarCallbacks itemClickListener) {
+        mItemClickListener = itemClickListener;
+    }
+
+    /**
+     * Copies shift and indicators of current month days of provided months, only days with data
+     * are kept, changed cells are rebound
+     *
+     * @param monthList months with data
+     * @param shift true if shift flags should be updated
+     * @param myRequests true if indicators should be updated
+     * @return true if any cell was changed
+     */
+    public boolean updateMonthsIndicators(@NonNull final List<MixedVisibleMonth> monthList,
+                                          boolean shift, boolean myRequests) {
+        final boolean updated = updateMonthsIndicators(monthList, shift, myRequests, mChangeSet);
+        mChangeSet.dispatchTo(this);
+        return updated;
+    }
+
+    /**
+     * Same as {@link #updateMonthsIndicators(List, boolean, boolean)}, but changed days are recorded
+     * to provided set instead of notifying adapter
+     */
+    boolean updateMonthsIndicators(@NonNull final List<MixedVisibleMonth> monthList, boolean shift,
+                                   boolean myRequests, @NonNull final DayChangeSet changeSet) {
+        boolean updated = false;
+        for (MixedVisibleMonth month : monthList) {
+            final VisibleMonth currentMonth = month.getCurrentMonth();
+            final int size = currentMonth.size();
+            for (int i = 0; i < size; i++) {
+                if (updateDay(currentMonth.getDay(i), shift, myRequests, changeSet)) {
+                    updated = true;
+                }
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Rebuilds month positions, should be called once first day of week or week end days were
+     * changed
+     */
+    public void invalidateLayout() {
+        mRecentTemplate = null;
+        buildMonthStartPositions();
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Rebinds cells of previous and current today
+     */
+    void onTodayChanged(final int previousEpochDay, final int currentEpochDay) {
+        notifyDayChanged(previousEpochDay, DayChangeSet.CHANGE_TODAY);
+        notifyDayChanged(currentEpochDay, DayChangeSet.CHANGE_TODAY);
+    }
+
+    /**
+     * Highlights provided day, previous selection is cleared
+     *
+     * @param date day to select or null to clear selection
+     */
+    public void setSelectedDate(@Nullable final Date date) {
+        final int epochDay = date != null ? EpochDay.fromDate(date) : CalendarRecyclerViewAdapter.NO_SELECTED_DAY;
+        if (epochDay == mSelectedEpochDay) {
+            return;
+        }
+        final int previousEpochDay = mSelectedEpochDay;
+        mSelectedEpochDay = epochDay;
+        if (previousEpochDay != CalendarRecyclerViewAdapter.NO_SELECTED_DAY) {
+            notifyDayChanged(previousEpochDay, DayChangeSet.CHANGE_SELECTION);
+        }
+        if (epochDay != CalendarRecyclerViewAdapter.NO_SELECTED_DAY) {
+            notifyDayChanged(epochDay, DayChangeSet.CHANGE_SELECTION);
+        }
+    }
+
+    /**
+     * Returns selected day or null if nothing is selected
+     */
+    @Nullable
+    public Date getSelectedDate() {
+        return mSelectedEpochDay != CalendarRecyclerViewAdapter.NO_SELECTED_DAY
+                ? EpochDay.toDate(mSelectedEpochDay) : null;
+    }
+
+    /**
+     * Copies data of provided day to materialized one, change is recorded to provided set
+     *
+     * @return true if day was changed
+     */
+    private boolean updateDay(@NonNull final Day source, final boolean shift, final boolean myRequests,
+                              @NonNull final DayChangeSet changeSet) {
+
+        final int epochDay = source.getEpochDay();
+        Day day = mMaterializedDays.get(epochDay);
+
+        final boolean shiftEnabled = shift ? source.isShiftEnabled() : day != null && day.isShiftEnabled();
+        // Only my requests are taken from source, the rest of indicators are kept
+        final int currentMask = day != null ? day.getIndicatorMask() : 0;
+        final int indicatorMask = myRequests
+                ? (currentMask & ~DayIndicators.MY_REQUESTS) | (source.getIndicatorMask() & DayIndicators.MY_REQUESTS)
+                : currentMask;
+
+        if (!shiftEnabled && indicatorMask == 0) {
+            if (day == null) {
+                return false;
+            }
+            mMaterializedDays.remove(epochDay);
+            changeSet.add(epochDay, (day.isShiftEnabled() ? DayChangeSet.CHANGE_SHIFT : 0)
+                    | day.getIndicatorMask());
+            return true;
+        }
+
+        int changes = 0;
+        if (day == null) {
+            day = new Day(epochDay, new DayState(source.getDayType()));
+            mMaterializedDays.put(epochDay, day);
+        }
+        if (day.isShiftEnabled() != shiftEnabled) {
+            day.setShiftEnabled(shiftEnabled);
+            changes |= DayChangeSet.CHANGE_SHIFT;
+        }
+        if (myRequests) {
+            for (int kind : CalendarRecyclerViewAdapter.MY_REQUEST_INDICATOR_KINDS) {
+                final int handle = source.getIndicatorHandle(kind);
+                if (day.getIndicatorHandle(kind) != handle) {
+                    day.setIndicatorHandle(kind, handle);
+                    changes |= 1 << kind;
+                }
+            }
+        }
+        changeSet.add(epochDay, changes);
+        return changes != 0;
+    }
+
+    private void notifyDayChanged(final int epochDay, final int changes) {
+        final int position = getPositionByEpochDay(epochDay);
+        if (position != RecyclerView.NO_POSITION) {
+            notifyItemChanged(position, changes);
+        }
+    }
+
+    /**
+     * Returns epoch day of item at provided position, header is related to first day of month
+     */
+    private int getEpochDayByPosition(final int position) {
+        final int monthIndex = getMonthIndexByPosition(position);
+        final int offset = position - mMonthStartPositions[monthIndex];
+        final int monthOrdinal = mFirstMonthOrdinal + monthIndex;
+        return offset == 0 ? MonthOrdinal.firstEpochDay(monthOrdinal)
+                : getTemplate(monthOrdinal).mEpochDays[offset - 1];
+    }
+
+    /**
+     * Returns position of current month cell of provided day
+     */
+    @Override
+    public int getPositionByEpochDay(final int epochDay) {
+        final int monthIndex = MonthOrdinal.ofEpochDay(epochDay) - mFirstMonthOrdinal;
+        if (monthIndex < 0 || monthIndex >= mMonthCount) {
+            return RecyclerView.NO_POSITION;
+        }
+        if (mWholeMonthItems) {
+            return mMonthStartPositions[monthIndex];
+        }
+        final int firstDayOfGrid = getTemplate(mFirstMonthOrdinal + monthIndex).mEpochDays[0];
+        // Header precedes first cell of grid
+        return mMonthStartPositions[monthIndex] + 1 + (epochDay - firstDayOfGrid);
+    }
+
+    /**
+     * Resolves month of provided position by binary search over month start positions
+     */
+    private int getMonthIndexByPosition(final int position) {
+        int low = 0;
+        int high = mMonthCount - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (mMonthStartPositions[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    @NonNull
+    private MonthTemplate getTemplate(final int monthOrdinal) {
+        if (mRecentTemplate == null || mRecentTemplateMonthOrdinal != monthOrdinal) {
+            mRecentTemplate = MonthTemplate.obtain(monthOrdinal);
+            mRecentTemplateMonthOrdinal = monthOrdinal;
+        }
+        return mRecentTemplate;
+    }
+
+    private void buildMonthStartPositions() {
+        final int firstDayOfWeek = CalendarUtils.getFirstDayOfWeek();
+        final int[] monthStartPositions = new int[mMonthCount + 1];
+        for (int i = 0; i < mMonthCount; i++) {
+            monthStartPositions[i + 1] = monthStartPositions[i] + (mWholeMonthItems
+                    ? 1 : MonthTemplate.getItemCount(mFirstMonthOrdinal + i, firstDayOfWeek));
+        }
+        mMonthStartPositions = monthStartPositions;
+    }
+
+    /**
+     * Returns materialized day or new day without data of provided current month day
+     */
+    @NonNull
+    private Day getDayByEpochDay(final int epochDay) {
+        final Day materializedDay = mMaterializedDays.get(epochDay);
+        if (materializedDay != null) {
+            return materializedDay;
+        }
+        final MonthTemplate template = getTemplate(MonthOrdinal.ofEpochDay(epochDay));
+        final int cellIndex = epochDay - template.mEpochDays[0];
+        return new Day(epochDay, new DayState(MonthDayStore.DAY_TYPES[template.mDayTypes[cellIndex]]));
+    }
+
+    /**
+     * Holder of whole month item
+     */
+    static class MonthCanvasViewHolder extends RecyclerView.ViewHolder {
+
+        // Reusable day for cells without data
+        final Day mScratchDay = Day.scratch();
+        protected MonthCanvasView mMonthView;
+
+        MonthCanvasViewHolder(MonthCanvasView itemView) {
+            super(itemView);
+            mMonthView = itemView;
+        }
+    }
+}
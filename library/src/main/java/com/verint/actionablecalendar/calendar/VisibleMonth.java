@@ -1,5 +1,7 @@
 package com.verint.actionablecalendar.calendar;
 
+import android.support.annotation.NonNull;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,7 +12,13 @@ import java.util.List;
  */
 public class VisibleMonth {
 
-    private final List<Day> mDayList;
+    // Range of cells within store, used when month is backed by {@link MonthDayStore}
+    private final MonthDayStore mStore;
+    private final int mOffset;
+    private final int mSize;
+
+    // Created lazily for store backed month
+    private List<Day> mDayList;
 
     /**
      *
@@ -23,18 +31,46 @@ public class VisibleMonth {
         }
 
         mDayList = new ArrayList<>(dayList);
+        mStore = null;
+        mOffset = 0;
+        mSize = dayList.size();
     }
 
+    /**
+     * Creates visible month as range of cells of provided {@link MonthDayStore}
+     *
+     * @param store {@link MonthDayStore}
+     * @param offset index of first cell of range
+     * @param size amount of cells within range
+     */
+    VisibleMonth(@NonNull MonthDayStore store, final int offset, final int size){
+        mStore = store;
+        mOffset = offset;
+        mSize = size;
+    }
 
     public Day getDay(final int position){
+        if (mStore != null){
+            if (position < 0 || position >= mSize){
+                throw new IndexOutOfBoundsException("Invalid index " + position + ", size is " + mSize);
+            }
+            return mStore.getDay(mOffset + position);
+        }
         return mDayList.get(position);
     }
 
     public int size(){
-        return mDayList.size();
+        return mDayList != null ? mDayList.size() : mSize;
     }
 
     public List<Day> getDayList(){
+        if (mDayList == null){
+            final List<Day> dayList = new ArrayList<>(mSize);
+            for (int i = 0; i < mSize; i++){
+                dayList.add(mStore.getDay(mOffset + i));
+            }
+            mDayList = dayList;
+        }
         return mDayList;
     }
 }
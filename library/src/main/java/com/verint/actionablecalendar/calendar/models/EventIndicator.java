@@ -1,20 +1,131 @@
 package com.verint.actionablecalendar.calendar.models;
 
 import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Contains Drawable resources for Icon and Badge of Indicator (e.g. for Calendar)
  *
+ * Please prefer canonical instances returned by {@link #of(int, int)}: they are shared between
+ * all days with the same icon and badge and can be compared by reference or by {@link #getHandle()}.
+ * Canonical instances are immutable.
+ *
  * Created by acheshihin on 8/11/2016.
  */
 public class EventIndicator {
 
+    /**
+     * Handle of absent indicator, never returned by {@link #getHandle()} of canonical instance
+     */
+    public static final int NO_HANDLE = 0;
+
+    // Handles are stored as short values per day cell
+    private static final int MAX_HANDLE = Short.MAX_VALUE;
+
+    private static final Map<EventIndicator, EventIndicator> sRegistry = new HashMap<>();
+    // Canonical instances by handle, item at index 0 is reserved for NO_HANDLE. Array is replaced
+    // by its copy under sRegistry lock once indicator is added, so it's read without locking
+    private static volatile EventIndicator[] sHandles = new EventIndicator[1];
+    // Reused as registry key for lookups, guarded by sRegistry
+    private static final EventIndicator sLookupKey = new EventIndicator(0, 0);
+
     private int mIconImage;
     private int mBadgeImage;
+    private final int mHandle;
 
     public EventIndicator(@DrawableRes final int iconImage, @DrawableRes final int badgeImage) {
+        this(iconImage, badgeImage, NO_HANDLE);
+    }
+
+    private EventIndicator(@DrawableRes final int iconImage, @DrawableRes final int badgeImage,
+                           final int handle) {
         this.mIconImage = iconImage;
         this.mBadgeImage = badgeImage;
+        this.mHandle = handle;
+    }
+
+    /**
+     * Returns canonical instance for provided icon and badge, same instance is returned for
+     * same pair of resources
+     *
+     * @param iconImage icon drawable resource
+     * @param badgeImage badge drawable resource
+     * @return immutable {@link EventIndicator}
+     */
+    @NonNull
+    public static EventIndicator of(@DrawableRes final int iconImage, @DrawableRes final int badgeImage) {
+
+        synchronized (sRegistry) {
+            sLookupKey.mIconImage = iconImage;
+            sLookupKey.mBadgeImage = badgeImage;
+            EventIndicator indicator = sRegistry.get(sLookupKey);
+            if (indicator == null) {
+                final EventIndicator[] handles = sHandles;
+                final int handle = handles.length;
+                if (handle > MAX_HANDLE) {
+                    throw new IllegalStateException("Too many distinct indicators registered");
+                }
+                indicator = new EventIndicator(iconImage, badgeImage, handle);
+                sRegistry.put(indicator, indicator);
+                final EventIndicator[] newHandles = Arrays.copyOf(handles, handle + 1);
+                newHandles[handle] = indicator;
+                sHandles = newHandles;
+            }
+            return indicator;
+        }
+    }
+
+    /**
+     * Returns canonical instance which is equal to provided indicator
+     *
+     * @param indicator any {@link EventIndicator} or null
+     * @return immutable {@link EventIndicator} or null if provided indicator is null
+     */
+    @Nullable
+    public static EventIndicator intern(@Nullable final EventIndicator indicator) {
+        if (indicator == null || indicator.mHandle != NO_HANDLE) {
+            return indicator;
+        }
+        return of(indicator.mIconImage, indicator.mBadgeImage);
+    }
+
+    /**
+     * Returns handle of provided indicator
+     *
+     * @param indicator any {@link EventIndicator} or null
+     * @return handle of canonical instance or {@link #NO_HANDLE} if provided indicator is null
+     */
+    public static int handleOf(@Nullable final EventIndicator indicator) {
+        return indicator != null ? intern(indicator).mHandle : NO_HANDLE;
+    }
+
+    /**
+     * Returns canonical instance by its handle, doesn't lock
+     *
+     * @param handle value returned by {@link #getHandle()}
+     * @return immutable {@link EventIndicator} or null for {@link #NO_HANDLE}
+     */
+    @Nullable
+    public static EventIndicator fromHandle(final int handle) {
+        if (handle == NO_HANDLE) {
+            return null;
+        }
+        return sHandles[handle];
+    }
+
+    /**
+     * Returns small positive integer which identifies canonical instance, two canonical
+     * instances are equal only if their handles are equal
+     *
+     * @return handle or {@link #NO_HANDLE} if this instance was not created by {@link #of(int, int)}
+     */
+    public int getHandle() {
+        return mHandle;
     }
 
     @DrawableRes
@@ -23,6 +134,7 @@ public class EventIndicator {
     }
 
     public void setIconImage(@DrawableRes final int iconImage) {
+        checkMutable();
         mIconImage = iconImage;
     }
 
@@ -32,9 +144,16 @@ public class EventIndicator {
     }
 
     public void setBadgeImage(@DrawableRes final int badgeImage) {
+        checkMutable();
         mBadgeImage = badgeImage;
     }
 
+    private void checkMutable() {
+        if (mHandle != NO_HANDLE) {
+            throw new UnsupportedOperationException("Canonical indicator can't be modified");
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if(this == obj) {
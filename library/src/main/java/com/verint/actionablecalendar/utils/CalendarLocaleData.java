@@ -0,0 +1,151 @@
+package com.verint.actionablecalendar.utils;
+
+import android.support.annotation.NonNull;
+
+import java.text.DateFormatSymbols;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Immutable table of capitalized week day and month names and first day of week for
+ * single {@link Locale}. Table is built lazily for currently used locale and rebuilt automatically
+ * once default locale was changed, hence formatting on bind path is array lookup only.
+ * Instances are immutable, so can be safely read from any thread.
+ *
+ * Please note: week days are indexed by {@link Calendar#DAY_OF_WEEK} constants and months
+ * are 0-based as {@link Calendar#MONTH}
+ */
+public final class CalendarLocaleData {
+
+    private static volatile CalendarLocaleData sCached;
+
+    private final Locale mLocale;
+    private final int mFirstDayOfWeek;
+    private final String[] mShortWeekDayNames;
+    private final String[] mLongWeekDayNames;
+    private final String[] mShortMonthNames;
+    private final String[] mMonthNames;
+
+    private CalendarLocaleData(@NonNull final Locale locale){
+
+        final DateFormatSymbols symbols = new DateFormatSymbols(locale);
+
+        mLocale = locale;
+        mFirstDayOfWeek = Calendar.getInstance(locale).getFirstDayOfWeek();
+        mShortWeekDayNames = capitalize(symbols.getShortWeekdays(), locale);
+        mLongWeekDayNames = capitalize(symbols.getWeekdays(), locale);
+        mShortMonthNames = capitalize(symbols.getShortMonths(), locale);
+        mMonthNames = capitalize(symbols.getMonths(), locale);
+    }
+
+    /**
+     * Returns table for currently used default {@link Locale}
+     *
+     * @return {@link CalendarLocaleData}
+     */
+    @NonNull
+    public static CalendarLocaleData getDefault(){
+        return forLocale(Locale.getDefault());
+    }
+
+    /**
+     * Returns table for provided {@link Locale}, table of recently used locale is reused
+     *
+     * @param locale {@link Locale}
+     * @return {@link CalendarLocaleData}
+     */
+    @NonNull
+    public static CalendarLocaleData forLocale(@NonNull final Locale locale){
+
+        CalendarLocaleData data = sCached;
+        if (data == null || !data.mLocale.equals(locale)){
+            data = new CalendarLocaleData(locale);
+            sCached = data;
+        }
+        return data;
+    }
+
+    /**
+     * Drops cached table, so it will be rebuilt on next access (e.g. on locale change broadcast)
+     */
+    public static void invalidate(){
+        sCached = null;
+    }
+
+    @NonNull
+    public Locale getLocale(){
+        return mLocale;
+    }
+
+    /**
+     * Returns first day of week as {@link Calendar#DAY_OF_WEEK} constant, e.g. {@link Calendar#SUNDAY}
+     */
+    public int getFirstDayOfWeek(){
+        return mFirstDayOfWeek;
+    }
+
+    /**
+     * Returns short week day name, e.g. "Mon"
+     *
+     * @param dayOfWeek {@link Calendar#DAY_OF_WEEK} constant
+     */
+    public String getShortWeekDayName(final int dayOfWeek){
+        return mShortWeekDayNames[dayOfWeek];
+    }
+
+    /**
+     * Returns full week day name, e.g. "Monday"
+     *
+     * @param dayOfWeek {@link Calendar#DAY_OF_WEEK} constant
+     */
+    public String getLongWeekDayName(final int dayOfWeek){
+        return mLongWeekDayNames[dayOfWeek];
+    }
+
+    /**
+     * Returns short month name, e.g. "Nov"
+     *
+     * @param month 0-based month, e.g. {@link Calendar#NOVEMBER}
+     */
+    public String getShortMonthName(final int month){
+        return mShortMonthNames[month];
+    }
+
+    /**
+     * Returns full month name, e.g. "November"
+     *
+     * @param month 0-based month, e.g. {@link Calendar#NOVEMBER}
+     */
+    public String getMonthName(final int month){
+        return mMonthNames[month];
+    }
+
+    /**
+     * Makes first char of each word in upper case and the rest chars in lower case
+     */
+    @NonNull
+    static String capitalize(@NonNull final String line, @NonNull final Locale locale){
+
+        final char[] chars = line.trim().toLowerCase(locale).toCharArray();
+        boolean wordStart = true;
+        for (int i = 0; i < chars.length; i++){
+            if (Character.isWhitespace(chars[i])){
+                wordStart = true;
+            } else if (wordStart){
+                chars[i] = Character.toTitleCase(chars[i]);
+                wordStart = false;
+            }
+        }
+        return new String(chars);
+    }
+
+    @NonNull
+    private static String[] capitalize(@NonNull final String[] names, @NonNull final Locale locale){
+
+        final String[] result = new String[names.length];
+        for (int i = 0; i < names.length; i++){
+            result[i] = names[i] != null ? capitalize(names[i], locale) : null;
+        }
+        return result;
+    }
+}
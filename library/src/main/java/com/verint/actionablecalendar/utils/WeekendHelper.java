@@ -1,63 +1,171 @@
 package com.verint.actionablecalendar.utils;
 
-import java.util.Arrays;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Helper class for retriving week end day according to used Locale
  *
+ * Week end days are represented as 7-bit mask, where bit number is {@link Calendar#DAY_OF_WEEK}
+ * constant minus one, e.g. Saturday and Sunday are {@code 0b1000001}. Mask of default locale is
+ * cached and recalculated once default locale was changed.
+ *
  * Created by acheshihin on 7/27/2016.
  */
 public final class WeekendHelper {
 
-    private static final List<String> sSunWeekendDaysCountries;
-    private static final List<String> sFryWeekendDaysCountries;
-    private static final List<String> sFrySunWeekendDaysCountries;
-    private static final List<String> sThuFryWeekendDaysCountries;
-    private static final List<String> sFrySatWeekendDaysCountries;
+    private static final int SAT_SUN_WEEKEND_MASK = maskOf(Calendar.SATURDAY, Calendar.SUNDAY);
+
+    // Countries with week end days which differ from Saturday and Sunday
+    private static final Map<String, Integer> sCountryWeekendMasks = new HashMap<>();
+
+    private static volatile LocaleWeekend sCached;
+    private static volatile WeekendRule sWeekendRule;
 
     static {
-        sSunWeekendDaysCountries = Arrays.asList("GQ", "IN", "TH", "UG");
-        sFryWeekendDaysCountries = Arrays.asList("DJ", "IR");
-        sFrySunWeekendDaysCountries = Collections.singletonList("BN");
-        sThuFryWeekendDaysCountries = Collections.singletonList("AF");
-        sFrySatWeekendDaysCountries = Arrays.asList("AE", "DZ", "BH", "BD", "EG", "IQ", "IL", "JO", "KW", "LY", "MV", "MR", "OM", "PS", "QA", "SA", "SD", "SY", "YE");
+        putCountries(maskOf(Calendar.SUNDAY), "GQ", "IN", "TH", "UG");
+        putCountries(maskOf(Calendar.FRIDAY), "DJ", "IR");
+        putCountries(maskOf(Calendar.FRIDAY, Calendar.SUNDAY), "BN");
+        putCountries(maskOf(Calendar.THURSDAY, Calendar.FRIDAY), "AF");
+        putCountries(maskOf(Calendar.FRIDAY, Calendar.SATURDAY), "AE", "DZ", "BH", "BD", "EG", "IQ",
+                "IL", "JO", "KW", "LY", "MV", "MR", "OM", "PS", "QA", "SA", "SD", "SY", "YE");
     }
 
     private WeekendHelper(){
         // Hidden constructor
     }
 
+    /**
+     * Rule which defines week end days, can be used by organisations with non-standard rest days
+     * (e.g. rotating week ends of shift workers) instead of locale based week end days
+     */
+    public interface WeekendRule {
+
+        /**
+         * Returns week end mask of week which contains provided day. Calendar calls it once per
+         * row of month grid with the first day of the row, possibly from background thread.
+         *
+         * @param epochDay amount of days since 1970-01-01, see
+         * {@link com.verint.actionablecalendar.calendar.EpochDay}
+         * @return 7-bit mask where bit number is {@link Calendar#DAY_OF_WEEK} constant minus one
+         */
+        int getWeekendMask(int epochDay);
+    }
 
     /**
      * Returns array with week end days (in a {@link Calendar} constants form) according to
-     * provided {@link Locale}
+     * provided {@link Locale}, days are ordered from Monday to Sunday (e.g. Saturday, Sunday)
      *
      * @param locale instance of {@link Locale}
      * @return array with week end days for provided {@link Locale}
      */
     public static int[] getWeekendDays(Locale locale) {
 
-        if (sThuFryWeekendDaysCountries.contains(locale.getCountry())) {
-            return new int[]{Calendar.THURSDAY, Calendar.FRIDAY};
-        }
-        else if (sFrySunWeekendDaysCountries.contains(locale.getCountry())) {
-            return new int[]{Calendar.FRIDAY, Calendar.SUNDAY};
+        final int mask = getWeekendMask(locale);
+        final int[] weekendDays = new int[Integer.bitCount(mask)];
+        int index = 0;
+        for (int i = 0; i < 7; i++){
+            // Monday first, Sunday last
+            final int dayOfWeek = (Calendar.MONDAY - 1 + i) % 7 + 1;
+            if (isWeekendDay(mask, dayOfWeek)){
+                weekendDays[index++] = dayOfWeek;
+            }
         }
-        else if (sFryWeekendDaysCountries.contains(locale.getCountry())) {
-            return new int[]{Calendar.FRIDAY};
+        return weekendDays;
+    }
+
+    /**
+     * Returns week end mask for provided {@link Locale}, mask of recently used locale is reused
+     *
+     * @param locale instance of {@link Locale}
+     * @return 7-bit mask where bit number is {@link Calendar#DAY_OF_WEEK} constant minus one
+     */
+    public static int getWeekendMask(@NonNull final Locale locale) {
+
+        LocaleWeekend cached = sCached;
+        if (cached == null || !cached.mLocale.equals(locale)){
+            final Integer mask = sCountryWeekendMasks.get(locale.getCountry());
+            cached = new LocaleWeekend(locale, mask != null ? mask : SAT_SUN_WEEKEND_MASK);
+            sCached = cached;
         }
-        else if (sSunWeekendDaysCountries.contains(locale.getCountry())) {
-            return new int[]{Calendar.SUNDAY};
+        return cached.mMask;
+    }
+
+    /**
+     * Returns week end mask of week which contains provided day according to assigned
+     * {@link WeekendRule} or to default {@link Locale} if there is no such rule
+     *
+     * @param epochDay amount of days since 1970-01-01, see
+     * {@link com.verint.actionablecalendar.calendar.EpochDay}
+     * @return 7-bit mask where bit number is {@link Calendar#DAY_OF_WEEK} constant minus one
+     */
+    public static int getWeekendMaskForDay(final int epochDay) {
+
+        final WeekendRule rule = sWeekendRule;
+        return rule != null ? rule.getWeekendMask(epochDay) : getWeekendMask(Locale.getDefault());
+    }
+
+    /**
+     * Checks if provided day of week is marked as week end day in provided mask
+     *
+     * @param weekendMask 7-bit mask, see {@link #getWeekendMask(Locale)}
+     * @param dayOfWeek {@link Calendar#DAY_OF_WEEK} constant
+     * @return true|false
+     */
+    public static boolean isWeekendDay(final int weekendMask, final int dayOfWeek) {
+        return (weekendMask & (1 << (dayOfWeek - 1))) != 0;
+    }
+
+    /**
+     * Assigns rule which overrides locale based week end days, affects months generated after
+     * this call
+     *
+     * @param rule {@link WeekendRule} or null in order to use locale based week end days
+     */
+    public static void setWeekendRule(@Nullable final WeekendRule rule) {
+        sWeekendRule = rule;
+    }
+
+    @Nullable
+    public static WeekendRule getWeekendRule() {
+        return sWeekendRule;
+    }
+
+    /**
+     * Drops cached week end mask, so it will be recalculated on next access
+     * (e.g. on locale change broadcast)
+     */
+    public static void invalidate() {
+        sCached = null;
+    }
+
+    private static int maskOf(final int... daysOfWeek) {
+        int mask = 0;
+        for (int dayOfWeek : daysOfWeek){
+            mask |= 1 << (dayOfWeek - 1);
         }
-        else if (sFrySatWeekendDaysCountries.contains(locale.getCountry())) {
-            return new int[]{Calendar.FRIDAY, Calendar.SATURDAY};
+        return mask;
+    }
+
+    private static void putCountries(final int mask, final String... countries) {
+        for (String country : countries){
+            sCountryWeekendMasks.put(country, mask);
         }
-        else {
-            return new int[]{Calendar.SATURDAY, Calendar.SUNDAY};
+    }
+
+    private static final class LocaleWeekend {
+
+        final Locale mLocale;
+        final int mMask;
+
+        LocaleWeekend(@NonNull final Locale locale, final int mask) {
+            mLocale = locale;
+            mMask = mask;
         }
     }
 }
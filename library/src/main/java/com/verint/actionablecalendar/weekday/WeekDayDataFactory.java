@@ -2,11 +2,10 @@ package com.verint.actionablecalendar.weekday;
 
 import android.support.annotation.NonNull;
 
-import java.text.SimpleDateFormat;
+import com.verint.actionablecalendar.utils.CalendarLocaleData;
+
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.List;
-import java.util.Locale;
 
 /**
  *
@@ -15,7 +14,6 @@ import java.util.Locale;
 public class WeekDayDataFactory {
 
     private static final int DAYS_PER_WEEK = 7;
-    private static final String DATE_FORMAT = "EEE";
 
     /**
      * Creates and populates list of week day names for {@link WeekDayWidget}
@@ -28,23 +26,16 @@ public class WeekDayDataFactory {
         // Prepare empty list
         final List<String> weekDayNameList = new ArrayList<>(DAYS_PER_WEEK);
 
-        final Calendar calendar = Calendar.getInstance(Locale.getDefault());
-        final int firstDayOfWeek = calendar.getFirstDayOfWeek();
-
-        // Find first day of the week value for currently used locale
-        while(calendar.get(Calendar.DAY_OF_WEEK) != firstDayOfWeek){
-            calendar.add(Calendar.DATE, -1);
-        }
-
-        // Prepare formatter for date
-        final SimpleDateFormat simpleDateFormat
-                = new SimpleDateFormat(DATE_FORMAT, Locale.getDefault());
+        // Names and first day of the week value for currently used locale
+        final CalendarLocaleData localeData = CalendarLocaleData.getDefault();
+        final int firstDayOfWeek = localeData.getFirstDayOfWeek();
 
         // Proceed from first day until end of the week and add them to week day names list
         for (int i=0; i < DAYS_PER_WEEK; i++){
 
-            weekDayNameList.add(simpleDateFormat.format(calendar.getTime()));
-            calendar.add(Calendar.DAY_OF_WEEK, 1);
+            // Calendar.DAY_OF_WEEK constants are 1-based
+            final int dayOfWeek = (firstDayOfWeek - 1 + i) % DAYS_PER_WEEK + 1;
+            weekDayNameList.add(localeData.getShortWeekDayName(dayOfWeek));
         }
 
         return weekDayNameList;
@@ -0,0 +1,186 @@
+package com.verint.actionablecalendar.calendar;
+
+import org.junit.Test;
+
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_AUCTION_NO_BID;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_AUCTION_WITH_BID;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_GENERAL_SWAP_POST;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_MORE;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_MY_SWAP_POST;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_REST_USERS_SWAP_POST;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_SWAP_REQUEST;
+import static com.verint.actionablecalendar.calendar.MonthDayStore.INDICATOR_TIME_OFF;
+import static org.junit.Assert.*;
+
+/**
+ * Compares {@link DayIndicators} with null checks of day indicators which were used before
+ * by month day cell, for all combinations of indicators
+ */
+public class DayIndicatorsTest {
+
+    private static final int ALL_MASKS = 1 << MonthDayStore.INDICATOR_KIND_COUNT;
+
+    @Test
+    public void getIconTotal_matchesNullChecks() throws Exception {
+        for (int mask = 0; mask < ALL_MASKS; mask++) {
+            assertEquals(Integer.toBinaryString(mask), getIconTotalByNullChecks(mask),
+                    DayIndicators.getIconTotal(mask));
+        }
+    }
+
+    @Test
+    public void getFirstIconKind_matchesNullChecks() throws Exception {
+        for (int mask = 0; mask < ALL_MASKS; mask++) {
+            assertEquals(Integer.toBinaryString(mask), getFirstIconKindByNullChecks(mask),
+                    DayIndicators.getFirstIconKind(mask));
+        }
+    }
+
+    @Test
+    public void getSecondIconKind_matchesNullChecks() throws Exception {
+        for (int mask = 0; mask < ALL_MASKS; mask++) {
+            final int firstIconKind = DayIndicators.getFirstIconKind(mask);
+            assertEquals(Integer.toBinaryString(mask), getSecondIconKindByNullChecks(mask),
+                    DayIndicators.getSecondIconKind(mask, firstIconKind));
+        }
+    }
+
+    @Test
+    public void getFirstIconKind_prefersTimeOff() throws Exception {
+        final int mask = DayIndicators.TIME_OFF | DayIndicators.SWAP_REQUEST;
+        assertEquals(INDICATOR_TIME_OFF, DayIndicators.getFirstIconKind(mask));
+        assertEquals(INDICATOR_SWAP_REQUEST, DayIndicators.getSecondIconKind(mask, INDICATOR_TIME_OFF));
+    }
+
+    @Test
+    public void getSecondIconKind_showsMoreForThreeIcons() throws Exception {
+        final int mask = DayIndicators.TIME_OFF | DayIndicators.SWAP_REQUEST
+                | DayIndicators.AUCTION_NO_BID | DayIndicators.MORE;
+        assertEquals(INDICATOR_MORE, DayIndicators.getSecondIconKind(mask, INDICATOR_TIME_OFF));
+    }
+
+    private static boolean has(final int mask, final int kind) {
+        return (mask & (1 << kind)) != 0;
+    }
+
+    /**
+     * Previous CalendarUtils#getIconTotalForDay(Day)
+     */
+    private static int getIconTotalByNullChecks(final int mask) {
+
+        int iconCount = 0;
+        if (has(mask, INDICATOR_TIME_OFF)) {
+            iconCount++;
+        }
+        if (has(mask, INDICATOR_SWAP_REQUEST)) {
+            iconCount++;
+        }
+        if (has(mask, INDICATOR_MY_SWAP_POST) || has(mask, INDICATOR_REST_USERS_SWAP_POST)
+                || has(mask, INDICATOR_GENERAL_SWAP_POST)) {
+            iconCount++;
+        }
+        if (has(mask, INDICATOR_AUCTION_WITH_BID) || has(mask, INDICATOR_AUCTION_NO_BID)) {
+            iconCount++;
+        }
+        return iconCount;
+    }
+
+    /**
+     * Previous choice of first icon by month day cell, {@link DayIndicators#NONE} stands for
+     * icon which wasn't assigned
+     */
+    private static int getFirstIconKindByNullChecks(final int mask) {
+
+        if (getIconTotalByNullChecks(mask) == 0) {
+            return DayIndicators.NONE;
+        }
+        if (has(mask, INDICATOR_TIME_OFF)) {
+            return INDICATOR_TIME_OFF;
+        } else if (has(mask, INDICATOR_SWAP_REQUEST)) {
+            return INDICATOR_SWAP_REQUEST;
+        } else if (has(mask, INDICATOR_MY_SWAP_POST)) {
+            return has(mask, INDICATOR_REST_USERS_SWAP_POST) ? INDICATOR_GENERAL_SWAP_POST : INDICATOR_MY_SWAP_POST;
+        } else if (has(mask, INDICATOR_AUCTION_WITH_BID)) {
+            return INDICATOR_AUCTION_WITH_BID;
+        } else if (has(mask, INDICATOR_AUCTION_NO_BID)) {
+            return INDICATOR_AUCTION_NO_BID;
+        } else if (has(mask, INDICATOR_REST_USERS_SWAP_POST)) {
+            return INDICATOR_REST_USERS_SWAP_POST;
+        }
+        return DayIndicators.NONE;
+    }
+
+    /**
+     * Previous choice of second icon by month day cell: switch by priority of first icon with
+     * fall through, {@link DayIndicators#NONE} stands for icon which wasn't assigned. 'More' icon
+     * was required to be present for three icons and more.
+     */
+    private static int getSecondIconKindByNullChecks(final int mask) {
+
+        final int iconTotal = getIconTotalByNullChecks(mask);
+        if (iconTotal < 2) {
+            return DayIndicators.NONE;
+        }
+        if (iconTotal >= 3) {
+            return has(mask, INDICATOR_MORE) ? INDICATOR_MORE : DayIndicators.NONE;
+        }
+
+        final int firstIconPriority;
+        switch (getFirstIconKindByNullChecks(mask)) {
+            case INDICATOR_TIME_OFF:
+                firstIconPriority = 0;
+                break;
+            case INDICATOR_SWAP_REQUEST:
+                firstIconPriority = 1;
+                break;
+            case INDICATOR_MY_SWAP_POST:
+            case INDICATOR_GENERAL_SWAP_POST:
+                firstIconPriority = 2;
+                break;
+            case INDICATOR_AUCTION_WITH_BID:
+                firstIconPriority = 3;
+                break;
+            case INDICATOR_AUCTION_NO_BID:
+                firstIconPriority = 4;
+                break;
+            case INDICATOR_REST_USERS_SWAP_POST:
+                firstIconPriority = 5;
+                break;
+            default:
+                firstIconPriority = -1;
+                break;
+        }
+
+        switch (firstIconPriority) {
+            case -1:
+                break;
+            case 0:
+                if (has(mask, INDICATOR_SWAP_REQUEST)) {
+                    return INDICATOR_SWAP_REQUEST;
+                }
+            case 1:
+                if (has(mask, INDICATOR_MY_SWAP_POST)) {
+                    return has(mask, INDICATOR_REST_USERS_SWAP_POST) ? INDICATOR_GENERAL_SWAP_POST : INDICATOR_MY_SWAP_POST;
+                }
+            case 2:
+                if (has(mask, INDICATOR_AUCTION_WITH_BID)) {
+                    return INDICATOR_AUCTION_WITH_BID;
+                }
+            case 3:
+                if (has(mask, INDICATOR_AUCTION_NO_BID) && !has(mask, INDICATOR_AUCTION_WITH_BID)) {
+                    return INDICATOR_AUCTION_NO_BID;
+                }
+            case 4:
+                if (has(mask, INDICATOR_REST_USERS_SWAP_POST)) {
+                    // With my swap post general one was assigned to the first icon instead,
+                    // which never happens for two icons since my swap post is matched above
+                    assertFalse(has(mask, INDICATOR_MY_SWAP_POST));
+                    return INDICATOR_REST_USERS_SWAP_POST;
+                }
+            case 5:
+            default:
+                break;
+        }
+        return DayIndicators.NONE;
+    }
+}
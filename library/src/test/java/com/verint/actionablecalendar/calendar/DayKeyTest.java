@@ -0,0 +1,81 @@
+package com.verint.actionablecalendar.calendar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks encoding and decoding of {@link DayKey}
+ */
+public class DayKeyTest {
+
+    private TimeZone mDefaultTimeZone;
+
+    @Before
+    public void setUp() throws Exception {
+        mDefaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        EpochDay.invalidateTimeZone();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TimeZone.setDefault(mDefaultTimeZone);
+        EpochDay.invalidateTimeZone();
+    }
+
+    @Test
+    public void of_packsYearMonthAndDay() throws Exception {
+        assertEquals(20161115, DayKey.of(2016, Calendar.NOVEMBER, 15));
+        assertEquals(20000101, DayKey.of(2000, Calendar.JANUARY, 1));
+        assertEquals(19991231, DayKey.of(1999, Calendar.DECEMBER, 31));
+    }
+
+    @Test
+    public void decode_returnsEncodedFields() throws Exception {
+
+        final int lastEpochDay = EpochDay.of(2100, Calendar.DECEMBER, 31);
+        int previousKey = 0;
+        for (int epochDay = EpochDay.of(1900, Calendar.JANUARY, 1); epochDay <= lastEpochDay; epochDay++) {
+
+            final int year = EpochDay.year(epochDay);
+            final int month = EpochDay.month(epochDay);
+            final int dayOfMonth = EpochDay.dayOfMonth(epochDay);
+
+            final int key = DayKey.ofEpochDay(epochDay);
+            assertEquals(DayKey.of(year, month, dayOfMonth), key);
+            assertEquals(year, DayKey.year(key));
+            assertEquals(month, DayKey.month(key));
+            assertEquals(dayOfMonth, DayKey.dayOfMonth(key));
+            assertEquals(epochDay, DayKey.toEpochDay(key));
+
+            // Keys are ordered the same way as days
+            assertTrue(key > previousKey);
+            previousKey = key;
+        }
+    }
+
+    @Test
+    public void ofDate_ignoresTimeOfDay() throws Exception {
+
+        final GregorianCalendar calendar = new GregorianCalendar();
+        calendar.clear();
+        calendar.set(2016, Calendar.NOVEMBER, 15);
+        final Date beginOfDay = calendar.getTime();
+        calendar.set(Calendar.HOUR_OF_DAY, 23);
+        calendar.set(Calendar.MINUTE, 59);
+        final Date endOfDay = calendar.getTime();
+
+        assertEquals(20161115, DayKey.of(beginOfDay));
+        assertEquals(20161115, DayKey.of(endOfDay));
+        assertEquals(20161115, DayKey.of(calendar));
+        assertEquals(beginOfDay, DayKey.toDate(20161115));
+    }
+}
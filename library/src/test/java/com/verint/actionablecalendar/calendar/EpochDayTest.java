@@ -0,0 +1,177 @@
+package com.verint.actionablecalendar.calendar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares {@link EpochDay} with {@link GregorianCalendar} which was used before
+ */
+public class EpochDayTest {
+
+    // Zones with daylight saving transitions at midnight and with historical raw offset changes
+    private static final String[] TIME_ZONES = {
+            "UTC",
+            "America/New_York",
+            "America/Sao_Paulo",
+            "America/Santiago",
+            "Asia/Tehran",
+            "Europe/Moscow",
+            "Australia/Lord_Howe",
+            "Pacific/Apia"
+    };
+
+    private static final int FIRST_YEAR = 1900;
+    private static final int LAST_YEAR = 2100;
+
+    private TimeZone mDefaultTimeZone;
+
+    @Before
+    public void setUp() throws Exception {
+        mDefaultTimeZone = TimeZone.getDefault();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        setTimeZone(mDefaultTimeZone);
+    }
+
+    @Test
+    public void fields_matchGregorianCalendar() throws Exception {
+
+        final GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.setGregorianChange(new Date(Long.MIN_VALUE));
+        calendar.clear();
+        calendar.set(1600, Calendar.JANUARY, 1);
+
+        final int lastEpochDay = EpochDay.of(2400, Calendar.DECEMBER, 31);
+        for (int epochDay = EpochDay.of(1600, Calendar.JANUARY, 1); epochDay <= lastEpochDay; epochDay++) {
+
+            final int year = calendar.get(Calendar.YEAR);
+            final int month = calendar.get(Calendar.MONTH);
+            final int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+            final String message = year + "-" + (month + 1) + "-" + dayOfMonth;
+
+            assertEquals(message, epochDay, EpochDay.of(year, month, dayOfMonth));
+            assertEquals(message, year, EpochDay.year(epochDay));
+            assertEquals(message, month, EpochDay.month(epochDay));
+            assertEquals(message, dayOfMonth, EpochDay.dayOfMonth(epochDay));
+            assertEquals(message, calendar.get(Calendar.DAY_OF_WEEK), EpochDay.dayOfWeek(epochDay));
+            assertEquals(message, calendar.getActualMaximum(Calendar.DAY_OF_MONTH),
+                    EpochDay.lengthOfMonth(year, month));
+            assertEquals(message, epochDay - dayOfMonth + 1, EpochDay.firstDayOfMonth(epochDay));
+
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    public void epochDay_isDaysSince1970() throws Exception {
+        assertEquals(0, EpochDay.of(1970, Calendar.JANUARY, 1));
+        assertEquals(-1, EpochDay.of(1969, Calendar.DECEMBER, 31));
+        assertEquals(17120, EpochDay.of(2016, Calendar.NOVEMBER, 15));
+        assertEquals(Calendar.THURSDAY, EpochDay.dayOfWeek(0));
+    }
+
+    @Test
+    public void toDate_matchesGregorianCalendar() throws Exception {
+
+        for (String timeZoneId : TIME_ZONES) {
+
+            final TimeZone timeZone = TimeZone.getTimeZone(timeZoneId);
+            setTimeZone(timeZone);
+            final GregorianCalendar calendar = new GregorianCalendar(timeZone);
+
+            final int lastEpochDay = EpochDay.of(LAST_YEAR, Calendar.DECEMBER, 31);
+            for (int epochDay = EpochDay.of(FIRST_YEAR, Calendar.JANUARY, 1); epochDay <= lastEpochDay; epochDay++) {
+
+                final int year = EpochDay.year(epochDay);
+                final int month = EpochDay.month(epochDay);
+                final int dayOfMonth = EpochDay.dayOfMonth(epochDay);
+                final String message = timeZoneId + " " + year + "-" + (month + 1) + "-" + dayOfMonth;
+
+                calendar.clear();
+                calendar.set(year, month, dayOfMonth);
+                assertEquals(message, calendar.getTimeInMillis(), EpochDay.toDate(epochDay).getTime());
+
+                // Local time around transitions, skipped one is moved forward the same way
+                calendar.set(Calendar.HOUR_OF_DAY, 1);
+                calendar.set(Calendar.MINUTE, 30);
+                final long expectedMillis = calendar.getTimeInMillis();
+                final long millis = EpochDay.toDate(epochDay, 90 * 60 * 1000L).getTime();
+                if (millis != expectedMillis) {
+                    // Calendar shifts by seconds of local mean time offset on the day it was
+                    // abandoned (e.g. 1914-01-01 in Sao Paulo), hence local time is checked instead
+                    calendar.setTimeInMillis(millis);
+                    assertEquals(message, dayOfMonth, calendar.get(Calendar.DAY_OF_MONTH));
+                    assertEquals(message, 1, calendar.get(Calendar.HOUR_OF_DAY));
+                    assertEquals(message, 30, calendar.get(Calendar.MINUTE));
+                    assertEquals(message, 0, calendar.get(Calendar.SECOND));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fromDate_matchesGregorianCalendar() throws Exception {
+
+        for (String timeZoneId : TIME_ZONES) {
+
+            final TimeZone timeZone = TimeZone.getTimeZone(timeZoneId);
+            setTimeZone(timeZone);
+            final GregorianCalendar calendar = new GregorianCalendar(timeZone);
+
+            final int lastEpochDay = EpochDay.of(LAST_YEAR, Calendar.DECEMBER, 31);
+            for (int epochDay = EpochDay.of(FIRST_YEAR, Calendar.JANUARY, 1); epochDay <= lastEpochDay; epochDay++) {
+
+                calendar.clear();
+                calendar.set(EpochDay.year(epochDay), EpochDay.month(epochDay), EpochDay.dayOfMonth(epochDay));
+                // Day which was skipped by time zone (e.g. 2011-12-30 in Apia) becomes the next one
+                final int expectedEpochDay = EpochDay.fromCalendar(calendar);
+                final String message = timeZoneId + " " + calendar.getTime();
+
+                assertEquals(message, expectedEpochDay, EpochDay.fromDate(calendar.getTime()));
+                assertEquals(message, expectedEpochDay, EpochDay.fromDate(EpochDay.toDate(epochDay)));
+
+                calendar.set(Calendar.HOUR_OF_DAY, 23);
+                calendar.set(Calendar.MINUTE, 59);
+                calendar.set(Calendar.SECOND, 59);
+                calendar.set(Calendar.MILLISECOND, 999);
+                assertEquals(message, EpochDay.fromCalendar(calendar), EpochDay.fromDate(calendar.getTime()));
+            }
+        }
+    }
+
+    @Test
+    public void millisOfDay_roundTrips() throws Exception {
+
+        setTimeZone(TimeZone.getTimeZone("America/New_York"));
+        final int epochDay = EpochDay.of(2016, Calendar.NOVEMBER, 15);
+        final long millisOfDay = ((13 * 60 + 45) * 60 + 30) * 1000L + 250;
+
+        final Date date = EpochDay.toDate(epochDay, millisOfDay);
+        assertEquals(epochDay, EpochDay.fromDate(date));
+        assertEquals(millisOfDay, EpochDay.millisOfDay(date));
+    }
+
+    @Test
+    public void isLeapYear_matchesGregorianCalendar() throws Exception {
+
+        final GregorianCalendar calendar = new GregorianCalendar();
+        for (int year = 1600; year <= 2400; year++) {
+            assertEquals(String.valueOf(year), calendar.isLeapYear(year), EpochDay.isLeapYear(year));
+        }
+    }
+
+    private static void setTimeZone(final TimeZone timeZone) {
+        TimeZone.setDefault(timeZone);
+        EpochDay.invalidateTimeZone();
+    }
+}
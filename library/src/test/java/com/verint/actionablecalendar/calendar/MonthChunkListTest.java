@@ -0,0 +1,220 @@
+package com.verint.actionablecalendar.calendar;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares {@link MonthChunkList} with plain list of items which was used before, after
+ * prepend, append and eviction of months
+ */
+public class MonthChunkListTest {
+
+    private static final int NO_POSITION = -1;
+
+    private final MonthChunkList mMonths = new MonthChunkList();
+
+    // Expected state: items of all months and ordinal of each month
+    private final List<Day> mItems = new ArrayList<>();
+    private final List<Integer> mOrdinals = new ArrayList<>();
+    private final List<Integer> mStartPositions = new ArrayList<>();
+
+    @Test
+    public void append_keepsChronologicalPositions() throws Exception {
+
+        final int firstMonthOrdinal = MonthOrdinal.of(2016, Calendar.JANUARY);
+        for (int i = 0; i < 24; i++) {
+            append(firstMonthOrdinal + i);
+        }
+        assertMatches();
+    }
+
+    @Test
+    public void prepend_shiftsPositionsOfLoadedMonths() throws Exception {
+
+        final int lastMonthOrdinal = MonthOrdinal.of(2016, Calendar.DECEMBER);
+        append(lastMonthOrdinal);
+        // More than initial capacity, so storage grows at front
+        for (int i = 1; i < 40; i++) {
+            prepend(lastMonthOrdinal - i);
+            assertEquals(mStartPositions.get(mStartPositions.size() - 1).intValue(),
+                    mMonths.getMonthHeaderPosition(lastMonthOrdinal));
+        }
+        assertMatches();
+    }
+
+    @Test
+    public void remove_evictsMonthsFromBothEnds() throws Exception {
+
+        final int firstMonthOrdinal = MonthOrdinal.of(2016, Calendar.JANUARY);
+        for (int i = 0; i < 12; i++) {
+            append(firstMonthOrdinal + i);
+        }
+
+        removeFirst(3);
+        assertMatches();
+        assertEquals(NO_POSITION, mMonths.getMonthHeaderPosition(firstMonthOrdinal));
+        assertEquals(0, mMonths.getMonthHeaderPosition(firstMonthOrdinal + 3));
+
+        removeLast(4);
+        assertMatches();
+        assertEquals(NO_POSITION, mMonths.getMonthHeaderPosition(firstMonthOrdinal + 11));
+
+        removeFirst(mOrdinals.size());
+        assertEquals(0, mMonths.size());
+        assertEquals(0, mMonths.getItemCount());
+        assertEquals(-1, mMonths.indexOfPosition(0));
+
+        // Storage is reusable once it was emptied
+        append(firstMonthOrdinal);
+        prepend(firstMonthOrdinal - 1);
+        assertMatches();
+    }
+
+    @Test
+    public void randomOperations_matchPlainList() throws Exception {
+
+        final Random random = new Random(2016);
+        final int startMonthOrdinal = MonthOrdinal.of(2016, Calendar.JUNE);
+        append(startMonthOrdinal);
+
+        for (int step = 0; step < 500; step++) {
+            final int size = mOrdinals.size();
+            switch (random.nextInt(4)) {
+                case 0:
+                    prepend(mOrdinals.get(0) - 1);
+                    break;
+                case 1:
+                    append(mOrdinals.get(size - 1) + 1);
+                    break;
+                case 2:
+                    if (size > 1) {
+                        removeFirst(1 + random.nextInt(Math.min(size - 1, 3)));
+                    }
+                    break;
+                default:
+                    if (size > 1) {
+                        removeLast(1 + random.nextInt(Math.min(size - 1, 3)));
+                    }
+                    break;
+            }
+            assertMatches();
+
+            // Random access after sequential one, so cached month of recent lookup is missed
+            for (int i = 0; i < 20; i++) {
+                final int position = random.nextInt(mItems.size());
+                assertDay(position);
+            }
+        }
+    }
+
+    private void append(final int monthOrdinal) {
+        final MixedVisibleMonth month = CalendarDataFactory.newInstance().create(monthOrdinal);
+        final List<Day> items = month.getDayListWithHeaders();
+        assertEquals(items.size(), mMonths.append(month));
+        mItems.addAll(items);
+        mOrdinals.add(monthOrdinal);
+        updateStartPositions();
+    }
+
+    private void prepend(final int monthOrdinal) {
+        final MixedVisibleMonth month = CalendarDataFactory.newInstance().create(monthOrdinal);
+        final List<Day> items = month.getDayListWithHeaders();
+        assertEquals(items.size(), mMonths.prepend(month));
+        mItems.addAll(0, items);
+        mOrdinals.add(0, monthOrdinal);
+        updateStartPositions();
+    }
+
+    private void removeFirst(final int count) {
+        final int itemCount = count < mOrdinals.size()
+                ? mStartPositions.get(count) : mItems.size();
+        mMonths.removeFirst(count);
+        mItems.subList(0, itemCount).clear();
+        mOrdinals.subList(0, count).clear();
+        updateStartPositions();
+    }
+
+    private void removeLast(final int count) {
+        final int monthIndex = mOrdinals.size() - count;
+        mMonths.removeLast(count);
+        mItems.subList(mStartPositions.get(monthIndex), mItems.size()).clear();
+        mOrdinals.subList(monthIndex, mOrdinals.size()).clear();
+        updateStartPositions();
+    }
+
+    private void updateStartPositions() {
+        mStartPositions.clear();
+        int position = 0;
+        for (int i = 0; i < mItems.size(); i++) {
+            if (mItems.get(i).getDayType() == DayState.DayType.MONTH_HEADER) {
+                mStartPositions.add(position);
+            }
+            position++;
+        }
+        assertEquals(mOrdinals.size(), mStartPositions.size());
+    }
+
+    private void assertMatches() {
+
+        assertEquals(mOrdinals.size(), mMonths.size());
+        assertEquals(mItems.size(), mMonths.getItemCount());
+
+        for (int position = 0; position < mItems.size(); position++) {
+            assertDay(position);
+        }
+
+        for (int monthIndex = 0; monthIndex < mOrdinals.size(); monthIndex++) {
+
+            final int monthOrdinal = mOrdinals.get(monthIndex);
+            final int startPosition = mStartPositions.get(monthIndex);
+            final int endPosition = monthIndex + 1 < mOrdinals.size()
+                    ? mStartPositions.get(monthIndex + 1) : mItems.size();
+
+            assertEquals(monthOrdinal, mMonths.getMonthOrdinal(monthIndex));
+            assertEquals(monthOrdinal, mMonths.getMonth(monthIndex).getMonthOrdinal());
+            assertEquals(monthOrdinal, mMonths.asMonthList().get(monthIndex).getMonthOrdinal());
+            assertEquals(monthIndex, mMonths.indexOfMonth(monthOrdinal));
+            assertEquals(startPosition, mMonths.getStartPosition(monthIndex));
+            assertEquals(startPosition, mMonths.getMonthHeaderPosition(monthOrdinal));
+            assertEquals(endPosition - startPosition, mMonths.getItemCount(monthIndex));
+
+            // Cells of current month are found within their own month
+            for (int position = startPosition + 1; position < endPosition; position++) {
+                final Day day = mItems.get(position);
+                if (day.getDayType() != DayState.DayType.NON_CURRENT_MONTH_DAY) {
+                    assertEquals(position, mMonths.getDayPosition(day.getEpochDay()));
+                }
+            }
+        }
+
+        assertEquals(mOrdinals.size(), mMonths.asMonthList().size());
+        assertEquals(-1, mMonths.indexOfPosition(-1));
+        assertEquals(-1, mMonths.indexOfPosition(mItems.size()));
+        if (!mOrdinals.isEmpty()) {
+            final int beforeFirst = mOrdinals.get(0) - 1;
+            final int afterLast = mOrdinals.get(mOrdinals.size() - 1) + 1;
+            assertEquals(-1, mMonths.indexOfMonth(beforeFirst));
+            assertEquals(-1, mMonths.indexOfMonth(afterLast));
+            assertEquals(NO_POSITION, mMonths.getMonthHeaderPosition(afterLast));
+            assertEquals(NO_POSITION, mMonths.getDayPosition(MonthOrdinal.firstEpochDay(beforeFirst)));
+        }
+    }
+
+    private void assertDay(final int position) {
+
+        final Day expected = mItems.get(position);
+        final Day actual = mMonths.getDay(position);
+        assertEquals("position " + position, expected.getEpochDay(), actual.getEpochDay());
+        assertEquals("position " + position, expected.getDayType(), actual.getDayType());
+
+        final int monthIndex = mMonths.indexOfPosition(position);
+        assertTrue(mStartPositions.get(monthIndex) <= position);
+        assertTrue(monthIndex + 1 == mStartPositions.size() || position < mStartPositions.get(monthIndex + 1));
+    }
+}
@@ -0,0 +1,135 @@
+package com.verint.actionablecalendar.calendar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares {@link MonthOrdinal} arithmetic and {@link CalendarUtils#monthsBetween(Date, Date)}
+ * with stepping of {@link Calendar} month by month which was used before
+ */
+public class MonthOrdinalTest {
+
+    private TimeZone mDefaultTimeZone;
+
+    @Before
+    public void setUp() throws Exception {
+        mDefaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        EpochDay.invalidateTimeZone();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TimeZone.setDefault(mDefaultTimeZone);
+        EpochDay.invalidateTimeZone();
+    }
+
+    @Test
+    public void fields_roundTrip() throws Exception {
+
+        for (int year = 1900; year <= 2100; year++) {
+            for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+
+                final int monthOrdinal = MonthOrdinal.of(year, month);
+                assertEquals(year, MonthOrdinal.year(monthOrdinal));
+                assertEquals(month, MonthOrdinal.month(monthOrdinal));
+                assertEquals(EpochDay.of(year, month, 1), MonthOrdinal.firstEpochDay(monthOrdinal));
+                assertEquals(EpochDay.lengthOfMonth(year, month), MonthOrdinal.lengthOf(monthOrdinal));
+                assertEquals(monthOrdinal, MonthOrdinal.ofEpochDay(EpochDay.of(year, month,
+                        EpochDay.lengthOfMonth(year, month))));
+            }
+        }
+    }
+
+    @Test
+    public void between_matchesCalendarStepping() throws Exception {
+
+        final GregorianCalendar start = new GregorianCalendar();
+        final GregorianCalendar end = new GregorianCalendar();
+        start.clear();
+        start.set(2010, Calendar.JANUARY, 1);
+
+        for (int startMonth = 0; startMonth < 36; startMonth++) {
+            end.setTime(start.getTime());
+            for (int months = 0; months < 60; months++) {
+                assertEquals(months, MonthOrdinal.between(MonthOrdinal.of(start), MonthOrdinal.of(end)));
+                assertEquals(-months, MonthOrdinal.between(MonthOrdinal.of(end), MonthOrdinal.of(start)));
+                assertEquals(MonthOrdinal.of(end), MonthOrdinal.plus(MonthOrdinal.of(start), months));
+                end.add(Calendar.MONTH, 1);
+            }
+            start.add(Calendar.MONTH, 1);
+        }
+    }
+
+    @Test
+    public void monthsBetween_matchesCalendarStepping() throws Exception {
+
+        // Start dates of each day of two years, including ends of months and leap day
+        final GregorianCalendar start = new GregorianCalendar();
+        start.clear();
+        start.set(2015, Calendar.JANUARY, 1, 10, 0);
+        final int[] startHours = {0, 10, 23};
+
+        // End dates are ends and middles of months of the next years at different times of day
+        final GregorianCalendar end = new GregorianCalendar();
+        final int[] endDays = {1, 15, 28, 29, 30, 31};
+        final int[] endHours = {0, 10, 12};
+
+        for (int day = 0; day < 731; day++) {
+            final Date startDate = start.getTime();
+            for (int endMonth = 0; endMonth < 48; endMonth += 5) {
+                for (int endDay : endDays) {
+                    for (int endHour : endHours) {
+
+                        end.clear();
+                        end.set(2015, Calendar.JANUARY, 1);
+                        end.add(Calendar.MONTH, endMonth);
+                        if (endDay > end.getActualMaximum(Calendar.DAY_OF_MONTH)) {
+                            continue;
+                        }
+                        end.set(Calendar.DAY_OF_MONTH, endDay);
+                        end.set(Calendar.HOUR_OF_DAY, endHour);
+                        final Date endDate = end.getTime();
+
+                        final String message = startDate + " - " + endDate;
+                        assertEquals(message, monthsBetweenBySteps(startDate, endDate),
+                                CalendarUtils.monthsBetween(startDate, endDate));
+                        assertEquals(message, monthsBetweenBySteps(endDate, startDate),
+                                CalendarUtils.monthsBetween(endDate, startDate));
+                    }
+                }
+            }
+            start.add(Calendar.DAY_OF_MONTH, 1);
+            start.set(Calendar.HOUR_OF_DAY, startHours[day % startHours.length]);
+        }
+    }
+
+    /**
+     * Previous implementation of {@link CalendarUtils#monthsBetween(Date, Date)}
+     */
+    private static int monthsBetweenBySteps(Date startDate, Date endDate) {
+
+        final Calendar cal = Calendar.getInstance();
+        if (startDate.before(endDate)) {
+            cal.setTime(startDate);
+        } else {
+            cal.setTime(endDate);
+            endDate = startDate;
+        }
+
+        int count = 0;
+        while (cal.getTime().before(endDate)) {
+            cal.add(Calendar.MONTH, 1);
+            count++;
+        }
+        return count - 1;
+    }
+}